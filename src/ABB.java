@@ -1,5 +1,7 @@
 import java.util.Comparator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 
 public class ABB<K, V> implements IMapeamento<K, V>{
@@ -54,6 +56,8 @@ public class ABB<K, V> implements IMapeamento<K, V>{
         ABB<K, V> nova = new ABB<>();
         nova = copiarArvore(original.raiz, funcaoChave, nova);
         this.raiz = nova.raiz;
+        this.comparador = nova.comparador;
+        this.tamanho = nova.tamanho;
     }
     
     /**
@@ -95,9 +99,11 @@ public class ABB<K, V> implements IMapeamento<K, V>{
 	public V pesquisar(K chave) {
     	comparacoes = 0;
     	inicio = System.nanoTime();
-    	V procurado = pesquisar(raiz, chave);
-    	termino = System.nanoTime();
-    	return procurado;
+    	try {
+    		return pesquisar(raiz, chave);
+    	} finally {
+    		termino = System.nanoTime();
+    	}
 	}
     
     private V pesquisar(No<K, V> raizArvore, K procurado) {
@@ -134,10 +140,49 @@ public class ABB<K, V> implements IMapeamento<K, V>{
      */
     public int inserir(K chave, V item) {
     	
-    	// TODO
+    	/// Divide a árvore pela chave e junta as duas partes tendo o novo nó como meio, o que mantém o balanceamento.
+    	Divisao<K, V> divisao = dividir(raiz, chave);
+    	No<K, V> novo = divisao.encontrado;
+    	
+    	if (novo == null) {
+    		novo = new No<>(chave, item);
+    		tamanho++;
+    	} else {
+    		novo.setItem(item);
+    	}
+    	raiz = juntar(divisao.menores, novo, divisao.maiores);
         return tamanho;
     }
 
+    /**
+     * Gera um índice imutável, somente para leitura, com os mesmos itens desta árvore, organizados em vetores no
+     * layout de Eytzinger. Alterações posteriores nesta árvore não são refletidas no índice gerado.
+     * @return o índice congelado, que usa o mesmo comparador desta árvore.
+     */
+    public IndiceCongelado<K, V> congelar() {
+    	
+    	Object[] chaves = new Object[tamanho];
+    	Object[] itens = new Object[tamanho];
+    	
+    	copiarEmOrdem(raiz, chaves, itens, 0);
+    	return new IndiceCongelado<>(chaves, itens, comparador);
+    }
+    
+    /**
+     * Recursivamente, copia chaves e itens da subárvore para os vetores, em ordem crescente de chave.
+     * @return a próxima posição livre dos vetores.
+     */
+    private int copiarEmOrdem(No<K, V> raizArvore, Object[] chaves, Object[] itens, int posicao) {
+    	
+    	if (raizArvore != null) {
+    		posicao = copiarEmOrdem(raizArvore.getEsquerda(), chaves, itens, posicao);
+    		chaves[posicao] = raizArvore.getChave();
+    		itens[posicao] = raizArvore.getItem();
+    		posicao = copiarEmOrdem(raizArvore.getDireita(), chaves, itens, posicao + 1);
+    	}
+    	return posicao;
+    }
+
     @Override 
     public String toString(){
     	return percorrer();
@@ -159,13 +204,334 @@ public class ABB<K, V> implements IMapeamento<K, V>{
      * Método que encapsula a remoção recursiva de um item da árvore.
      * @param chave a chave do item que deverá ser localizado e removido da árvore.
      * @return o valor associado ao item removido.
+     * @throws NoSuchElementException caso a chave não esteja na árvore.
      */
     public V remover(K chave) {
     	
-    	// TODO
-    	return null;
+    	/// Divide a árvore pela chave e junta as duas partes sem o nó encontrado, o que mantém o balanceamento.
+    	Divisao<K, V> divisao = dividir(raiz, chave);
+    	
+    	raiz = juntar(divisao.menores, divisao.maiores);
+    	if (divisao.encontrado == null)
+    		throw new NoSuchElementException("O item não foi localizado na árvore!");
+    	
+    	tamanho--;
+    	return divisao.encontrado.getItem();
     }
 
+    /**
+     * Divide a árvore pela chave informada. Esta árvore passa a conter apenas os itens com chaves menores do que a
+     * chave informada; a árvore retornada contém os itens com chaves maiores ou iguais a ela.
+     * A divisão é feita em O(log n) por meio de junções de subárvores; o tamanho das partes é lido das raízes.
+     * @param chave a chave que define a divisão.
+     * @return uma nova árvore, com o mesmo comparador, contendo os itens com chaves maiores ou iguais à chave informada.
+     */
+    public ABB<K, V> dividir(K chave) {
+    	
+    	ABB<K, V> maiores = new ABB<>(comparador);
+    	Divisao<K, V> divisao = dividir(raiz, chave);
+    	
+    	raiz = divisao.menores;
+    	maiores.raiz = (divisao.encontrado != null) ? juntar(null, divisao.encontrado, divisao.maiores) : divisao.maiores;
+    	tamanho = (raiz != null) ? raiz.getTamanho() : 0;
+    	maiores.tamanho = (maiores.raiz != null) ? maiores.raiz.getTamanho() : 0;
+    	return maiores;
+    }
+    
+    /**
+     * Une a outra árvore a esta. Itens com chaves presentes nas duas árvores ficam com o valor vindo da outra árvore.
+     * Executa em O(m log(n/m + 1)), sendo m o tamanho da menor árvore e n o da maior; subárvores grandes são
+     * processadas em paralelo. Os nós da outra árvore são reaproveitados e, por isso, ela fica vazia ao final.
+     * Unir a árvore com ela mesma não a altera.
+     * @param outra a árvore cujos itens serão unidos a esta. Deve usar o mesmo critério de comparação.
+     * @return o tamanho atualizado desta árvore.
+     */
+    public int unir(ABB<K, V> outra) {
+    	
+    	if (outra == this)
+    		return tamanho;
+    	
+    	Resultado<K, V> uniao = combinar(OperacaoConjunto.UNIAO, raiz, outra.raiz);
+    	
+    	raiz = uniao.raiz;
+    	tamanho = tamanho + outra.tamanho - uniao.comuns;
+    	outra.esvaziar();
+    	return tamanho;
+    }
+    
+    /**
+     * Mantém nesta árvore apenas os itens cujas chaves também estão na outra árvore.
+     * Executa em O(m log(n/m + 1)), com processamento paralelo de subárvores grandes. A outra árvore fica vazia ao final.
+     * A interseção da árvore com ela mesma não a altera.
+     * @param outra a árvore com as chaves a manter. Deve usar o mesmo critério de comparação.
+     * @return o tamanho atualizado desta árvore.
+     */
+    public int intersecao(ABB<K, V> outra) {
+    	
+    	if (outra == this)
+    		return tamanho;
+    	
+    	Resultado<K, V> intersecao = combinar(OperacaoConjunto.INTERSECAO, raiz, outra.raiz);
+    	
+    	raiz = intersecao.raiz;
+    	tamanho = intersecao.comuns;
+    	outra.esvaziar();
+    	return tamanho;
+    }
+    
+    /**
+     * Remove desta árvore todos os itens cujas chaves estão na outra árvore.
+     * Executa em O(m log(n/m + 1)), com processamento paralelo de subárvores grandes. A outra árvore fica vazia ao final.
+     * A diferença da árvore com ela mesma a deixa vazia.
+     * @param outra a árvore com as chaves a remover. Deve usar o mesmo critério de comparação.
+     * @return o tamanho atualizado desta árvore.
+     */
+    public int diferenca(ABB<K, V> outra) {
+    	
+    	if (outra == this) {
+    		esvaziar();
+    		return tamanho;
+    	}
+    	
+    	Resultado<K, V> diferenca = combinar(OperacaoConjunto.DIFERENCA, raiz, outra.raiz);
+    	
+    	raiz = diferenca.raiz;
+    	tamanho = tamanho - diferenca.comuns;
+    	outra.esvaziar();
+    	return tamanho;
+    }
+    
+    private void esvaziar() {
+    	raiz = null;
+    	tamanho = 0;
+    }
+    
+    /** Operações de conjunto executadas por {@link #combinar}. */
+    private enum OperacaoConjunto { UNIAO, INTERSECAO, DIFERENCA }
+    
+    /** Resultado da divisão de uma subárvore: as partes menor e maior do que a chave e o nó com a chave, se existir. */
+    private static class Divisao<K, V> {
+    	No<K, V> menores;
+    	No<K, V> encontrado;
+    	No<K, V> maiores;
+    }
+    
+    /** Resultado de uma operação de conjunto: a raiz obtida e a quantidade de chaves presentes nas duas árvores. */
+    private static class Resultado<K, V> {
+    	No<K, V> raiz;
+    	int comuns;
+    	
+    	Resultado(No<K, V> raiz, int comuns) {
+    		this.raiz = raiz;
+    		this.comuns = comuns;
+    	}
+    }
+    
+    /** Altura mínima das duas subárvores para que a recursão sobre elas seja feita em paralelo (cerca de mil nós). */
+    private static final int ALTURA_MINIMA_PARALELO = 10;
+    
+    /**
+     * Recursivamente, combina as subárvores conforme a operação de conjunto: a segunda é dividida pela chave da raiz
+     * da primeira, as metades são combinadas e os resultados são juntados novamente.
+     * Quando as duas subárvores são grandes, a metade esquerda é processada em paralelo à direita.
+     * @param operacao a operação de conjunto a executar.
+     * @param raizArvore raiz da subárvore desta árvore.
+     * @param raizOutra raiz da subárvore da outra árvore.
+     * @return a raiz da subárvore combinada e a quantidade de chaves comuns encontradas.
+     */
+    private Resultado<K, V> combinar(OperacaoConjunto operacao, No<K, V> raizArvore, No<K, V> raizOutra) {
+    	
+    	if (raizArvore == null)
+    		return new Resultado<>((operacao == OperacaoConjunto.UNIAO) ? raizOutra : null, 0);
+    	if (raizOutra == null)
+    		return new Resultado<>((operacao == OperacaoConjunto.INTERSECAO) ? null : raizArvore, 0);
+    	
+    	No<K, V> esquerda = raizArvore.getEsquerda();
+    	No<K, V> direita = raizArvore.getDireita();
+    	Divisao<K, V> divisao = dividir(raizOutra, raizArvore.getChave());
+    	Resultado<K, V> menores, maiores;
+    	
+    	if (altura(esquerda) >= ALTURA_MINIMA_PARALELO && altura(divisao.menores) >= ALTURA_MINIMA_PARALELO) {
+    		ForkJoinTask<Resultado<K, V>> tarefa = ForkJoinTask.adapt(() -> combinar(operacao, esquerda, divisao.menores));
+    		if (ForkJoinTask.inForkJoinPool())
+    			tarefa.fork();
+    		else
+    			ForkJoinPool.commonPool().execute(tarefa);
+    		maiores = combinar(operacao, direita, divisao.maiores);
+    		menores = tarefa.join();
+    	} else {
+    		menores = combinar(operacao, esquerda, divisao.menores);
+    		maiores = combinar(operacao, direita, divisao.maiores);
+    	}
+    	
+    	int comuns = menores.comuns + maiores.comuns;
+    	boolean mantemRaiz;
+    	
+    	if (divisao.encontrado != null) {
+    		comuns++;
+    		if (operacao == OperacaoConjunto.UNIAO)
+    			raizArvore.setItem(divisao.encontrado.getItem());
+    		mantemRaiz = (operacao != OperacaoConjunto.DIFERENCA);
+    	} else {
+    		mantemRaiz = (operacao != OperacaoConjunto.INTERSECAO);
+    	}
+    	
+    	if (mantemRaiz)
+    		return new Resultado<>(juntar(menores.raiz, raizArvore, maiores.raiz), comuns);
+    	else
+    		return new Resultado<>(juntar(menores.raiz, maiores.raiz), comuns);
+    }
+    
+    /**
+     * Recursivamente, divide a subárvore pela chave informada, reaproveitando seus nós.
+     * @param raizArvore raiz da subárvore a ser dividida.
+     * @param chave a chave que define a divisão.
+     * @return as subárvores com chaves menores e maiores do que a chave, e o nó que a contém (ou {@code null}).
+     */
+    private Divisao<K, V> dividir(No<K, V> raizArvore, K chave) {
+    	
+    	Divisao<K, V> divisao;
+    	
+    	if (raizArvore == null)
+    		return new Divisao<>();
+    	
+    	int comparacao = comparador.compare(chave, raizArvore.getChave());
+    	No<K, V> esquerda = raizArvore.getEsquerda();
+    	No<K, V> direita = raizArvore.getDireita();
+    	
+    	if (comparacao == 0) {
+    		divisao = new Divisao<>();
+    		divisao.menores = esquerda;
+    		divisao.maiores = direita;
+    		raizArvore.setEsquerda(null);
+    		raizArvore.setDireita(null);
+    		raizArvore.setAltura();
+    		divisao.encontrado = raizArvore;
+    	} else if (comparacao < 0) {
+    		divisao = dividir(esquerda, chave);
+    		divisao.maiores = juntar(divisao.maiores, raizArvore, direita);
+    	} else {
+    		divisao = dividir(direita, chave);
+    		divisao.menores = juntar(esquerda, raizArvore, divisao.menores);
+    	}
+    	return divisao;
+    }
+    
+    /**
+     * Junta duas subárvores, em que todas as chaves da esquerda são menores do que todas as da direita,
+     * usando o maior nó da esquerda como raiz da junção.
+     */
+    private No<K, V> juntar(No<K, V> esquerda, No<K, V> direita) {
+    	
+    	if (esquerda == null)
+    		return direita;
+    	
+    	Divisao<K, V> divisao = removerMaior(esquerda);
+    	return juntar(divisao.menores, divisao.encontrado, direita);
+    }
+    
+    /** Recursivamente, separa o maior nó da subárvore, devolvendo-o em {@code encontrado} e o restante em {@code menores}. */
+    private Divisao<K, V> removerMaior(No<K, V> raizArvore) {
+    	
+    	Divisao<K, V> divisao;
+    	
+    	if (raizArvore.getDireita() == null) {
+    		divisao = new Divisao<>();
+    		divisao.menores = raizArvore.getEsquerda();
+    		raizArvore.setEsquerda(null);
+    		raizArvore.setAltura();
+    		divisao.encontrado = raizArvore;
+    	} else {
+    		divisao = removerMaior(raizArvore.getDireita());
+    		divisao.menores = juntar(raizArvore.getEsquerda(), raizArvore, divisao.menores);
+    	}
+    	return divisao;
+    }
+    
+    /**
+     * Junta duas subárvores balanceadas e o nó do meio, em que as chaves da esquerda são menores do que a do meio
+     * e as da direita, maiores. O custo é proporcional à diferença de altura entre as subárvores.
+     * @return a raiz da subárvore balanceada resultante.
+     */
+    private No<K, V> juntar(No<K, V> esquerda, No<K, V> meio, No<K, V> direita) {
+    	
+    	if (altura(esquerda) > altura(direita) + 1)
+    		return juntarADireita(esquerda, meio, direita);
+    	else if (altura(direita) > altura(esquerda) + 1)
+    		return juntarAEsquerda(esquerda, meio, direita);
+    	
+    	meio.setEsquerda(esquerda);
+    	meio.setDireita(direita);
+    	meio.setAltura();
+    	return meio;
+    }
+    
+    /** Junção em que a subárvore esquerda é a mais alta: desce pela sua borda direita até encontrar altura compatível. */
+    private No<K, V> juntarADireita(No<K, V> esquerda, No<K, V> meio, No<K, V> direita) {
+    	
+    	No<K, V> novaDireita;
+    	
+    	if (altura(esquerda.getDireita()) <= altura(direita) + 1) {
+    		novaDireita = juntar(esquerda.getDireita(), meio, direita);
+    		if (altura(novaDireita) > altura(esquerda.getEsquerda()) + 1)
+    			novaDireita = rotacionarDireita(novaDireita);
+    	} else {
+    		novaDireita = juntarADireita(esquerda.getDireita(), meio, direita);
+    	}
+    	esquerda.setDireita(novaDireita);
+    	esquerda.setAltura();
+    	
+    	if (altura(novaDireita) > altura(esquerda.getEsquerda()) + 1)
+    		return rotacionarEsquerda(esquerda);
+    	return esquerda;
+    }
+    
+    /** Junção em que a subárvore direita é a mais alta: desce pela sua borda esquerda até encontrar altura compatível. */
+    private No<K, V> juntarAEsquerda(No<K, V> esquerda, No<K, V> meio, No<K, V> direita) {
+    	
+    	No<K, V> novaEsquerda;
+    	
+    	if (altura(direita.getEsquerda()) <= altura(esquerda) + 1) {
+    		novaEsquerda = juntar(esquerda, meio, direita.getEsquerda());
+    		if (altura(novaEsquerda) > altura(direita.getDireita()) + 1)
+    			novaEsquerda = rotacionarEsquerda(novaEsquerda);
+    	} else {
+    		novaEsquerda = juntarAEsquerda(esquerda, meio, direita.getEsquerda());
+    	}
+    	direita.setEsquerda(novaEsquerda);
+    	direita.setAltura();
+    	
+    	if (altura(novaEsquerda) > altura(direita.getDireita()) + 1)
+    		return rotacionarDireita(direita);
+    	return direita;
+    }
+    
+    private No<K, V> rotacionarEsquerda(No<K, V> raizArvore) {
+    	
+    	No<K, V> novaRaiz = raizArvore.getDireita();
+    	
+    	raizArvore.setDireita(novaRaiz.getEsquerda());
+    	raizArvore.setAltura();
+    	novaRaiz.setEsquerda(raizArvore);
+    	novaRaiz.setAltura();
+    	return novaRaiz;
+    }
+    
+    private No<K, V> rotacionarDireita(No<K, V> raizArvore) {
+    	
+    	No<K, V> novaRaiz = raizArvore.getEsquerda();
+    	
+    	raizArvore.setEsquerda(novaRaiz.getDireita());
+    	raizArvore.setAltura();
+    	novaRaiz.setDireita(raizArvore);
+    	novaRaiz.setAltura();
+    	return novaRaiz;
+    }
+    
+    private int altura(No<K, V> no) {
+    	return (no != null) ? no.getAltura() : -1;
+    }
+    
 	@Override
 	public int tamanho() {
 		return tamanho;
@@ -178,6 +544,6 @@ public class ABB<K, V> implements IMapeamento<K, V>{
 
 	@Override
 	public double getTempo() {
-		return (termino - inicio) / 1_000_000;
+		return (termino - inicio) / 1_000_000.0;
 	}
 }
\ No newline at end of file
@@ -1,4 +1,9 @@
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
 import java.util.function.Function;
@@ -163,7 +168,165 @@ public class App {
         System.out.println(produtosCadastrados.toString());
     }
     
+    /**
+     * Lê os produtos do arquivo de dados para uma lista, no mesmo formato usado por {@link #lerProdutos}.
+     * Cada produto é criado uma única vez, para que os índices por id e por nome compartilhem os mesmos objetos.
+     * @param nomeArquivoDados Nome do arquivo de dados a ser aberto.
+     * @return A lista de produtos lidos.
+     * @throws IOException em caso de problemas na leitura do arquivo.
+     */
+    static List<Produto> lerListaDeProdutos(String nomeArquivoDados) throws IOException {
+    	
+    	List<Produto> produtos;
+    	int numProdutos;
+    	
+    	try (Scanner arquivo = new Scanner(new File(nomeArquivoDados), Charset.forName("UTF-8"))) {
+    		numProdutos = Integer.parseInt(arquivo.nextLine());
+    		produtos = new ArrayList<>(numProdutos);
+    		for (int i = 0; i < numProdutos; i++)
+    			produtos.add(Produto.criarDoTexto(arquivo.nextLine()));
+    	}
+    	return produtos;
+    }
+    
+    /**
+     * Lê as opções da linha de comando, no formato "--opcao valor".
+     * @param args Os argumentos da linha de comando, sem o modo de execução.
+     * @param opcoesValidas As opções aceitas pelo modo de execução.
+     * @return Um mapa de cada opção informada para o seu valor.
+     * @throws IllegalArgumentException em caso de opção desconhecida ou sem valor.
+     */
+    static Map<String, String> lerOpcoes(String[] args, String... opcoesValidas) {
+    	
+    	Map<String, String> opcoes = new HashMap<>();
+    	List<String> validas = Arrays.asList(opcoesValidas);
+    	
+    	for (int i = 0; i < args.length; i += 2) {
+    		if (!validas.contains(args[i]))
+    			throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+    		if (i + 1 >= args.length)
+    			throw new IllegalArgumentException("Falta o valor da opção " + args[i]);
+    		opcoes.put(args[i], args[i + 1]);
+    	}
+    	return opcoes;
+    }
+    
+    /**
+     * Modo não interativo: carrega os índices por id e por nome, executa uma carga de trabalho lida de arquivo
+     * ou gerada a partir dos produtos, a partir de várias threads, e imprime o relatório de desempenho.
+     * Opções aceitas (todas opcionais): <br/>
+     * --dados arquivo (padrão: produtos.txt) <br/>
+     * --consultas arquivo (se ausente, a carga é gerada) <br/>
+     * --operacoes N (padrão: 100000) <br/>
+     * --threads N (padrão: quantidade de processadores) <br/>
+     * --pesquisas fração de pesquisas na carga gerada (padrão: 0.9) <br/>
+     * --proporcao-id fração das pesquisas e remoções no índice por id (padrão: 0.5) <br/>
+     * --assimetria expoente de Zipf na escolha das chaves (padrão: 1.0; 0 = uniforme) <br/>
+     * --semente semente do gerador aleatório (padrão: 42)
+     * @param args Os argumentos da linha de comando, após "--lote".
+     */
+    static void executarEmLote(String[] args) {
+    	
+    	Map<String, String> opcoes = lerOpcoes(args, "--dados", "--consultas", "--operacoes", "--threads",
+    			"--pesquisas", "--proporcao-id", "--assimetria", "--semente");
+    	String arquivoDados = opcoes.getOrDefault("--dados", "produtos.txt");
+    	String arquivoConsultas = opcoes.get("--consultas");
+    	int operacoes = Integer.parseInt(opcoes.getOrDefault("--operacoes", "100000"));
+    	int threads = Integer.parseInt(opcoes.getOrDefault("--threads",
+    			String.valueOf(Runtime.getRuntime().availableProcessors())));
+    	double pesquisas = Double.parseDouble(opcoes.getOrDefault("--pesquisas", "0.9"));
+    	double proporcaoId = Double.parseDouble(opcoes.getOrDefault("--proporcao-id", "0.5"));
+    	double assimetria = Double.parseDouble(opcoes.getOrDefault("--assimetria", "1.0"));
+    	long semente = Long.parseLong(opcoes.getOrDefault("--semente", "42"));
+    	
+    	try {
+    		List<Produto> produtos = lerListaDeProdutos(arquivoDados);
+    		produtosCadastradosPorId = new ABB<>();
+    		produtosCadastradosPorNome = new ABB<>();
+    		for (Produto produto : produtos) {
+    			produtosCadastradosPorId.inserir(produto.idProduto, produto);
+    			produtosCadastradosPorNome.inserir(produto.descricao, produto);
+    		}
+    		quantosProdutos = produtos.size();
+    		
+    		CargaDeTrabalho carga = (arquivoConsultas != null)
+    				? CargaDeTrabalho.lerDoArquivo(arquivoConsultas)
+    				: CargaDeTrabalho.gerar(produtos, operacoes, pesquisas, proporcaoId, assimetria, semente);
+    		
+    		ExecucaoEmLote execucao = new ExecucaoEmLote(produtosCadastradosPorId, produtosCadastradosPorNome, threads);
+    		execucao.executar(carga);
+    		
+    		cabecalho();
+    		System.out.println("Produtos carregados: " + quantosProdutos);
+    		System.out.print(execucao.relatorio(carga));
+    	} catch (IOException excecaoArquivo) {
+    		System.out.println("Não foi possível ler o arquivo: " + excecaoArquivo.getMessage());
+    	}
+    }
+    
+    /**
+     * Compara a latência de pesquisa das árvores por id e por nome com a dos índices congelados gerados a partir delas,
+     * usando o catálogo completo. Opções aceitas (todas opcionais): <br/>
+     * --dados arquivo (padrão: produtos.txt) <br/>
+     * --rodadas N rodadas medidas, cada uma pesquisando todas as chaves (padrão: 50) <br/>
+     * --semente semente para embaralhar a ordem das pesquisas (padrão: 42)
+     * @param args Os argumentos da linha de comando, após "--comparar-congelado".
+     */
+    static void compararIndiceCongelado(String[] args) {
+    	
+    	Map<String, String> opcoes = lerOpcoes(args, "--dados", "--rodadas", "--semente");
+    	String arquivoDados = opcoes.getOrDefault("--dados", "produtos.txt");
+    	int rodadas = Integer.parseInt(opcoes.getOrDefault("--rodadas", "50"));
+    	long semente = Long.parseLong(opcoes.getOrDefault("--semente", "42"));
+    	
+    	try {
+    		List<Produto> produtos = lerListaDeProdutos(arquivoDados);
+    		cabecalho();
+    		System.out.print(ComparativoCongelado.comparar(produtos, (p -> p.idProduto), "id", rodadas, semente));
+    		System.out.print(ComparativoCongelado.comparar(produtos, (p -> p.descricao), "nome", rodadas, semente));
+    	} catch (IOException excecaoArquivo) {
+    		System.out.println("Não foi possível ler o arquivo: " + excecaoArquivo.getMessage());
+    	}
+    }
+    
+    /**
+     * Compara o uso de heap e as pausas de coleta de lixo do modelo de objetos com os do armazém de produtos fora do heap,
+     * com o catálogo replicado. Opções aceitas (todas opcionais): <br/>
+     * --dados arquivo (padrão: produtos.txt) <br/>
+     * --fator N réplicas do catálogo (padrão: 100) <br/>
+     * --pesquisas N pesquisas aleatórias em cada modelo (padrão: 1000000) <br/>
+     * --semente semente do gerador aleatório (padrão: 42)
+     * @param args Os argumentos da linha de comando, após "--comparar-memoria".
+     */
+    static void compararMemoria(String[] args) {
+    	
+    	Map<String, String> opcoes = lerOpcoes(args, "--dados", "--fator", "--pesquisas", "--semente");
+    	String arquivoDados = opcoes.getOrDefault("--dados", "produtos.txt");
+    	int fator = Integer.parseInt(opcoes.getOrDefault("--fator", "100"));
+    	int pesquisas = Integer.parseInt(opcoes.getOrDefault("--pesquisas", "1000000"));
+    	long semente = Long.parseLong(opcoes.getOrDefault("--semente", "42"));
+    	
+    	try {
+    		List<Produto> produtos = lerListaDeProdutos(arquivoDados);
+    		cabecalho();
+    		System.out.print(ComparativoMemoria.comparar(produtos, fator, pesquisas, semente));
+    	} catch (IOException excecaoArquivo) {
+    		System.out.println("Não foi possível ler o arquivo: " + excecaoArquivo.getMessage());
+    	}
+    }
+    
 	public static void main(String[] args) {
+		if (args.length > 0) {
+			String[] opcoes = Arrays.copyOfRange(args, 1, args.length);
+			switch (args[0]) {
+				case "--lote" -> executarEmLote(opcoes);
+				case "--comparar-congelado" -> compararIndiceCongelado(opcoes);
+				case "--comparar-memoria" -> compararMemoria(opcoes);
+				default -> throw new IllegalArgumentException("Modo desconhecido: " + args[0]);
+			}
+			return;
+		}
+		
 		teclado = new Scanner(System.in, Charset.forName("UTF-8"));
         nomeArquivoDados = "produtos.txt";
         
@@ -0,0 +1,280 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Armazém de produtos fora do heap. Cada produto ocupa um registro de tamanho fixo em {@link ByteBuffer}s diretos,
+ * e as descrições ficam, codificadas em UTF-8, em uma área de texto também direta. Os índices guardam apenas o
+ * número do registro (um int), e os dados são lidos por {@link VisaoProduto}, reaproveitável, ou pelos métodos de
+ * acesso deste armazém, sem criar objetos; {@link #produto(int)} reconstitui um {@link Produto} quando necessário.
+ * Assim, o catálogo não ocupa o heap nem é percorrido pelo coletor de lixo.
+ *
+ * Layout de cada registro (em bytes): <br/>
+ * 0 id (int) | 4 tipo (int: 1 não perecível, 2 perecível) | 8 preço de custo (double) | 16 margem de lucro (double) |
+ * 24 validade em dias desde 01/01/1970 (int) | 28 tamanho da descrição em bytes (int) |
+ * 32 deslocamento da descrição na área de texto (long)
+ *
+ * Cada área é dividida em blocos de até 1 GB, de forma que o armazém não é limitado pelo tamanho máximo de um
+ * {@link ByteBuffer}; a quantidade de registros é limitada apenas pelo int que os numera. Os registros são apenas
+ * acrescentados.
+ */
+public class ArmazemProdutos {
+
+	/** Tamanho, em bytes, de cada registro. */
+	public static final int TAMANHO_REGISTRO = 40;
+
+	private static final int ID = 0;
+	private static final int TIPO = 4;
+	private static final int PRECO_CUSTO = 8;
+	private static final int MARGEM_LUCRO = 16;
+	private static final int VALIDADE = 24;
+	private static final int TAMANHO_DESCRICAO = 28;
+	private static final int DESLOCAMENTO_DESCRICAO = 32;
+
+	static final int TIPO_NAO_PERECIVEL = 1;
+	static final int TIPO_PERECIVEL = 2;
+
+	/** Bits do deslocamento dentro de um bloco: cada bloco tem até 2^30 bytes (1 GB). */
+	private static final int BITS_BLOCO = 30;
+	private static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+
+	/** Quantidade de registros em cada bloco da área de registros; nenhum registro atravessa blocos. */
+	private static final int REGISTROS_POR_BLOCO = TAMANHO_BLOCO / TAMANHO_REGISTRO;
+
+	/** Tamanho médio estimado de uma descrição, em bytes, para a reserva inicial da área de texto. */
+	private static final int TAMANHO_MEDIO_DESCRICAO = 32;
+
+	/**
+	 * Área fora do heap dividida em blocos de até {@code TAMANHO_BLOCO} bytes. Um deslocamento é um long cujos
+	 * bits superiores indicam o bloco e os {@code BITS_BLOCO} inferiores, a posição dentro dele. O último bloco
+	 * cresce, dobrando de tamanho, até o limite; depois disso, um novo bloco é criado.
+	 */
+	private static class Area {
+
+		private final List<ByteBuffer> blocos = new ArrayList<>();
+		private long fim;   // deslocamento da próxima posição livre.
+
+		/**
+		 * Reserva os blocos necessários para os primeiros {@code bytes} bytes da área.
+		 */
+		Area(long bytes) {
+
+			for (long restante = Math.max(bytes, 1); restante > 0; restante -= TAMANHO_BLOCO)
+				blocos.add(alocar((int) Math.min(restante, TAMANHO_BLOCO)));
+			fim = 0;
+		}
+
+		ByteBuffer bloco(long deslocamento) {
+			return blocos.get((int) (deslocamento >>> BITS_BLOCO));
+		}
+
+		static int posicao(long deslocamento) {
+			return (int) (deslocamento & (TAMANHO_BLOCO - 1));
+		}
+
+		/**
+		 * Reserva {@code bytes} bytes contíguos a partir do fim da área, passando para o próximo bloco caso
+		 * não caibam no atual.
+		 * @return o deslocamento do espaço reservado.
+		 */
+		long reservar(int bytes) {
+
+			if (bytes > TAMANHO_BLOCO)
+				throw new IllegalArgumentException("O dado excede o tamanho de um bloco do armazém.");
+
+			long deslocamento = fim;
+			if (posicao(deslocamento) + (long) bytes > TAMANHO_BLOCO)
+				deslocamento = ((deslocamento >>> BITS_BLOCO) + 1) << BITS_BLOCO;
+
+			garantir((int) (deslocamento >>> BITS_BLOCO), posicao(deslocamento) + bytes);
+			fim = deslocamento + bytes;
+			return deslocamento;
+		}
+
+		/**
+		 * Garante que o bloco indicado exista e tenha ao menos {@code necessario} bytes, realocando-o com o dobro
+		 * do tamanho (limitado ao tamanho do bloco) e copiando o conteúdo, se preciso.
+		 */
+		private void garantir(int indiceBloco, int necessario) {
+
+			while (blocos.size() <= indiceBloco)
+				blocos.add(alocar(Math.min(blocos.get(blocos.size() - 1).capacity(), TAMANHO_BLOCO)));
+
+			ByteBuffer bloco = blocos.get(indiceBloco);
+			if (bloco.capacity() < necessario) {
+				int novaCapacidade = (int) Math.min(TAMANHO_BLOCO, Math.max(2L * bloco.capacity(), necessario));
+				ByteBuffer novo = alocar(novaCapacidade);
+				novo.put(0, bloco, 0, bloco.capacity());
+				blocos.set(indiceBloco, novo);
+			}
+		}
+
+		long bytesReservados() {
+
+			long total = 0;
+			for (ByteBuffer bloco : blocos)
+				total += bloco.capacity();
+			return total;
+		}
+
+		private static ByteBuffer alocar(int bytes) {
+			return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+		}
+	}
+
+	private final Area registros;   // registros de tamanho fixo, fora do heap.
+	private final Area textos;      // descrições em UTF-8, fora do heap.
+	private int quantidade;         // quantidade de registros ocupados.
+
+	/**
+	 * Construtor da classe.
+	 * @param capacidadeInicial quantidade de produtos para a qual o espaço é reservado inicialmente (mínimo 1).
+	 * As áreas crescem quando necessário.
+	 */
+	public ArmazemProdutos(int capacidadeInicial) {
+
+		if (capacidadeInicial < 1)
+			throw new IllegalArgumentException("A capacidade inicial deve ser positiva.");
+		registros = new Area(Math.multiplyExact((long) capacidadeInicial, TAMANHO_REGISTRO));
+		textos = new Area(Math.multiplyExact((long) capacidadeInicial, TAMANHO_MEDIO_DESCRICAO));
+		quantidade = 0;
+	}
+
+	/** Deslocamento, na área de registros, do registro de número indicado. */
+	private static long deslocamento(int registro) {
+
+		int bloco = registro / REGISTROS_POR_BLOCO;
+		int posicao = Math.multiplyExact(registro % REGISTROS_POR_BLOCO, TAMANHO_REGISTRO);
+		return ((long) bloco << BITS_BLOCO) | posicao;
+	}
+
+	/**
+	 * Grava os dados do produto em um novo registro.
+	 * @param produto o produto a ser armazenado. Depois de gravado, o objeto pode ser descartado.
+	 * @return o número do registro, a ser guardado nos índices.
+	 * @throws IllegalStateException caso o armazém já tenha a quantidade máxima de registros.
+	 */
+	public int adicionar(Produto produto) {
+
+		if (quantidade == Integer.MAX_VALUE)
+			throw new IllegalStateException("O armazém de produtos atingiu a quantidade máxima de registros.");
+
+		byte[] descricao = produto.descricao.getBytes(StandardCharsets.UTF_8);
+		long deslocamentoDescricao = textos.reservar(descricao.length);
+		textos.bloco(deslocamentoDescricao).put(Area.posicao(deslocamentoDescricao), descricao);
+
+		int registro = quantidade;
+		long deslocamento = registros.reservar(TAMANHO_REGISTRO);
+		ByteBuffer bloco = registros.bloco(deslocamento);
+		int posicao = Area.posicao(deslocamento);
+
+		bloco.putInt(posicao + ID, produto.idProduto);
+		bloco.putDouble(posicao + PRECO_CUSTO, produto.precoCusto);
+		bloco.putDouble(posicao + MARGEM_LUCRO, produto.margemLucro);
+		if (produto instanceof ProdutoPerecivel perecivel) {
+			bloco.putInt(posicao + TIPO, TIPO_PERECIVEL);
+			bloco.putInt(posicao + VALIDADE, (int) perecivel.getDataDeValidade().toEpochDay());
+		} else {
+			bloco.putInt(posicao + TIPO, TIPO_NAO_PERECIVEL);
+			bloco.putInt(posicao + VALIDADE, 0);
+		}
+		bloco.putInt(posicao + TAMANHO_DESCRICAO, descricao.length);
+		bloco.putLong(posicao + DESLOCAMENTO_DESCRICAO, deslocamentoDescricao);
+
+		quantidade++;
+		return registro;
+	}
+
+	private ByteBuffer blocoDoRegistro(int registro) {
+		return registros.bloco(deslocamento(registro));
+	}
+
+	private static int posicaoDoRegistro(int registro) {
+		return Area.posicao(deslocamento(registro));
+	}
+
+	/** Identificador do produto no registro indicado. */
+	public int getId(int registro) {
+		return blocoDoRegistro(registro).getInt(posicaoDoRegistro(registro) + ID);
+	}
+
+	/** Tipo do produto no registro indicado: 1, não perecível; 2, perecível. */
+	public int getTipo(int registro) {
+		return blocoDoRegistro(registro).getInt(posicaoDoRegistro(registro) + TIPO);
+	}
+
+	/** Preço de custo do produto no registro indicado. */
+	public double getPrecoCusto(int registro) {
+		return blocoDoRegistro(registro).getDouble(posicaoDoRegistro(registro) + PRECO_CUSTO);
+	}
+
+	/** Margem de lucro do produto no registro indicado. */
+	public double getMargemLucro(int registro) {
+		return blocoDoRegistro(registro).getDouble(posicaoDoRegistro(registro) + MARGEM_LUCRO);
+	}
+
+	/** Data de validade do produto no registro indicado, em dias desde 01/01/1970 (0 para não perecíveis). */
+	public int getValidadeEmDias(int registro) {
+		return blocoDoRegistro(registro).getInt(posicaoDoRegistro(registro) + VALIDADE);
+	}
+
+	/** Descrição do produto no registro indicado, decodificada da área de texto em uma nova String. */
+	public String getDescricao(int registro) {
+
+		ByteBuffer bloco = blocoDoRegistro(registro);
+		int posicao = posicaoDoRegistro(registro);
+		long deslocamentoDescricao = bloco.getLong(posicao + DESLOCAMENTO_DESCRICAO);
+		byte[] descricao = new byte[bloco.getInt(posicao + TAMANHO_DESCRICAO)];
+
+		textos.bloco(deslocamentoDescricao).get(Area.posicao(deslocamentoDescricao), descricao);
+		return new String(descricao, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Valor de venda do produto no registro indicado, calculado diretamente dos dados do registro, com as mesmas
+	 * regras de {@link ProdutoNaoPerecivel} e {@link ProdutoPerecivel}.
+	 */
+	public double valorDeVenda(int registro) {
+
+		double precoCusto = getPrecoCusto(registro);
+		double margemLucro = getMargemLucro(registro);
+
+		if (getTipo(registro) == TIPO_PERECIVEL)
+			return ProdutoPerecivel.valorDeVenda(precoCusto, margemLucro, LocalDate.ofEpochDay(getValidadeEmDias(registro)));
+		else
+			return ProdutoNaoPerecivel.valorDeVenda(precoCusto, margemLucro);
+	}
+
+	/**
+	 * Reconstitui o produto do registro indicado. O objeto é criado a cada chamada e não mantém vínculo com o
+	 * armazém; para apenas ler os dados, prefira {@link VisaoProduto} ou os métodos de acesso, que não criam objetos.
+	 * @param registro o número do registro, obtido em {@link #adicionar}.
+	 * @return o produto armazenado no registro.
+	 */
+	public Produto produto(int registro) {
+
+		int id = getId(registro);
+		String descricao = getDescricao(registro);
+		double precoCusto = getPrecoCusto(registro);
+		double margemLucro = getMargemLucro(registro);
+
+		if (getTipo(registro) == TIPO_PERECIVEL)
+			return new ProdutoPerecivel(id, descricao, precoCusto, margemLucro,
+					LocalDate.ofEpochDay(getValidadeEmDias(registro)));
+		else
+			return new ProdutoNaoPerecivel(id, descricao, precoCusto, margemLucro);
+	}
+
+	/** Quantidade de produtos armazenados. */
+	public int tamanho() {
+		return quantidade;
+	}
+
+	/** Quantidade de bytes fora do heap reservados pelo armazém. */
+	public long bytesReservados() {
+		return registros.bytesReservados() + textos.bytesReservados();
+	}
+}
@@ -0,0 +1,373 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Árvore B+ com ordem (fanout) configurável. Cada página guarda suas chaves em um vetor ordenado, pesquisado
+ * por busca binária; os itens ficam apenas nas folhas, que são encadeadas na ordem das chaves. Assim, uma
+ * pesquisa visita poucas páginas, e o caminhamento e as consultas por intervalo leem as folhas em sequência.
+ */
+public class ArvoreBMais<K, V> implements IMapeamento<K, V> {
+
+	/** Ordem padrão: quantidade máxima de filhos de uma página interna. */
+	public static final int ORDEM_PADRAO = 32;
+
+	private NoBMais<K, V> raiz;      // página raiz da árvore.
+	private NoBMais<K, V> primeira;  // primeira folha, início do encadeamento das folhas.
+	private Comparator<K> comparador; // comparador empregado para definir "menores" e "maiores".
+	private int ordem;               // quantidade máxima de filhos por página; folhas guardam até ordem - 1 itens.
+	private int minimo;              // quantidade mínima de chaves em páginas que não são a raiz.
+	private int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+
+	/**
+	 * Método auxiliar para inicialização da árvore B+.
+	 * Cria a raiz como uma folha vazia, que também é a primeira folha do encadeamento.
+	 * @param ordem a quantidade máxima de filhos de cada página (mínimo 3).
+	 * @param comparador o comparador para organizar os elementos da árvore.
+	 */
+	private void init(int ordem, Comparator<K> comparador) {
+
+		if (ordem < 3)
+			throw new IllegalArgumentException("A ordem da árvore B+ deve ser de, no mínimo, 3.");
+		this.ordem = ordem;
+		this.minimo = (ordem - 1) / 2;
+		this.comparador = comparador;
+		raiz = new NoBMais<>(ordem, true);
+		primeira = raiz;
+		tamanho = 0;
+	}
+
+	/**
+	 * Construtor da classe.
+	 * A ordem padrão e o comparador padrão de ordem natural serão utilizados.
+	 */
+	@SuppressWarnings("unchecked")
+	public ArvoreBMais() {
+		init(ORDEM_PADRAO, (Comparator<K>) Comparator.naturalOrder());
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma árvore B+ vazia, com a ordem padrão.
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 */
+	public ArvoreBMais(Comparator<K> comparador) {
+		init(ORDEM_PADRAO, comparador);
+	}
+
+	/**
+	 * Construtor da classe.
+	 * Cria uma árvore B+ vazia, com a ordem informada.
+	 * @param ordem a quantidade máxima de filhos de cada página (mínimo 3).
+	 * @param comparador o comparador a ser utilizado para organizar os elementos da árvore.
+	 */
+	public ArvoreBMais(int ordem, Comparator<K> comparador) {
+		init(ordem, comparador);
+	}
+
+	/**
+	 * Método booleano que indica se a árvore está vazia ou não.
+	 * @return verdadeiro se não há itens armazenados na árvore; falso, caso contrário.
+	 */
+	public Boolean vazia() {
+		return (tamanho == 0);
+	}
+
+	/**
+	 * Busca binária da chave nas chaves da página.
+	 * @return a posição da chave, se encontrada; caso contrário, -(posição de inserção + 1).
+	 */
+	private int buscar(NoBMais<K, V> pagina, K chave) {
+
+		int esquerda = 0, direita = pagina.getQuantidade() - 1;
+
+		while (esquerda <= direita) {
+			int meio = (esquerda + direita) >>> 1;
+			int comparacao = comparador.compare(chave, pagina.getChave(meio));
+			comparacoes++;
+			if (comparacao == 0)
+				return meio;
+			else if (comparacao < 0)
+				direita = meio - 1;
+			else
+				esquerda = meio + 1;
+		}
+		return -(esquerda + 1);
+	}
+
+	/**
+	 * Posição da página filha em que a chave deve ser procurada. Cada chave separadora é a menor chave
+	 * da subárvore à sua direita.
+	 */
+	private int posicaoFilho(NoBMais<K, V> pagina, K chave) {
+
+		int posicao = buscar(pagina, chave);
+		return (posicao >= 0) ? posicao + 1 : -(posicao + 1);
+	}
+
+	/** Desce da raiz até a folha em que a chave está ou deveria estar. */
+	private NoBMais<K, V> localizarFolha(K chave) {
+
+		NoBMais<K, V> pagina = raiz;
+
+		while (!pagina.isFolha())
+			pagina = pagina.getFilho(posicaoFilho(pagina, chave));
+		return pagina;
+	}
+
+	@Override
+	/**
+	 * Pesquisa, a partir da raiz, a folha que contém a chave.
+	 * @param chave a chave do item que será pesquisado na árvore.
+	 * @return o valor associado à chave.
+	 */
+	public V pesquisar(K chave) {
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		try {
+			NoBMais<K, V> folha = localizarFolha(chave);
+			int posicao = buscar(folha, chave);
+			if (posicao < 0)
+				throw new NoSuchElementException("O item não foi localizado na árvore!");
+			return folha.getItem(posicao);
+		} finally {
+			termino = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Retorna, em ordem, os itens com chaves no intervalo [chaveInicial, chaveFinal], lendo as folhas em sequência
+	 * a partir daquela em que a chave inicial está ou deveria estar.
+	 * @param chaveInicial a menor chave do intervalo.
+	 * @param chaveFinal a maior chave do intervalo.
+	 * @return a lista dos itens no intervalo, vazia caso não haja nenhum.
+	 */
+	public List<V> pesquisarIntervalo(K chaveInicial, K chaveFinal) {
+
+		List<V> itens = new ArrayList<>();
+		NoBMais<K, V> folha;
+		int posicao;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		folha = localizarFolha(chaveInicial);
+		posicao = buscar(folha, chaveInicial);
+		if (posicao < 0)
+			posicao = -(posicao + 1);
+
+		while (folha != null) {
+			for (; posicao < folha.getQuantidade(); posicao++) {
+				comparacoes++;
+				if (comparador.compare(folha.getChave(posicao), chaveFinal) > 0) {
+					termino = System.nanoTime();
+					return itens;
+				}
+				itens.add(folha.getItem(posicao));
+			}
+			folha = folha.getProxima();
+			posicao = 0;
+		}
+		termino = System.nanoTime();
+		return itens;
+	}
+
+	@Override
+	/**
+	 * Insere o item na folha adequada, dividindo as páginas que excederem a capacidade. Se a chave já existir,
+	 * o item associado a ela é substituído.
+	 * @param chave a chave associada ao item que será inserido na árvore.
+	 * @param item o item que será inserido na árvore.
+	 * @return o tamanho atualizado da árvore após a execução da operação de inserção.
+	 */
+	public int inserir(K chave, V item) {
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+
+		Divisao<K, V> divisao = inserir(raiz, chave, item);
+		if (divisao != null) {
+			/// A raiz foi dividida: a árvore cresce um nível.
+			NoBMais<K, V> novaRaiz = new NoBMais<>(ordem, false);
+			novaRaiz.setFilho(0, raiz);
+			novaRaiz.inserirNaInterna(0, divisao.separadora, divisao.novaPagina);
+			raiz = novaRaiz;
+		}
+
+		termino = System.nanoTime();
+		return tamanho;
+	}
+
+	/** Resultado da divisão de uma página: a nova página, à direita, e a chave que a separa da página dividida. */
+	private static class Divisao<K, V> {
+		K separadora;
+		NoBMais<K, V> novaPagina;
+	}
+
+	/**
+	 * Insere recursivamente o item na subárvore.
+	 * @return a nova página e sua chave separadora, caso a página tenha sido dividida; {@code null}, caso contrário.
+	 */
+	private Divisao<K, V> inserir(NoBMais<K, V> pagina, K chave, V item) {
+
+		if (pagina.isFolha()) {
+			int posicao = buscar(pagina, chave);
+			if (posicao >= 0) {
+				pagina.setItem(posicao, item);
+				return null;
+			}
+			pagina.inserirNaFolha(-(posicao + 1), chave, item);
+			tamanho++;
+		} else {
+			int posicao = posicaoFilho(pagina, chave);
+			Divisao<K, V> divisaoFilha = inserir(pagina.getFilho(posicao), chave, item);
+			if (divisaoFilha == null)
+				return null;
+			pagina.inserirNaInterna(posicao, divisaoFilha.separadora, divisaoFilha.novaPagina);
+		}
+
+		if (pagina.getQuantidade() < ordem)
+			return null;
+		return dividir(pagina);
+	}
+
+	/**
+	 * Divide uma página que excedeu a capacidade, movendo a metade superior para uma nova página à direita.
+	 * Em folhas, a nova página é incluída no encadeamento e a separadora é sua primeira chave; em páginas internas,
+	 * a chave do meio é promovida como separadora.
+	 */
+	private Divisao<K, V> dividir(NoBMais<K, V> pagina) {
+
+		Divisao<K, V> divisao = new Divisao<>();
+		divisao.novaPagina = new NoBMais<>(ordem, pagina.isFolha());
+		divisao.separadora = pagina.moverMetadeSuperior(pagina.getQuantidade() / 2, divisao.novaPagina);
+
+		if (pagina.isFolha()) {
+			divisao.novaPagina.setProxima(pagina.getProxima());
+			pagina.setProxima(divisao.novaPagina);
+		}
+		return divisao;
+	}
+
+	@Override
+	/**
+	 * Remove o item da folha que o contém, redistribuindo ou fundindo as páginas que ficarem abaixo da ocupação mínima.
+	 * @param chave a chave do item que deverá ser localizado e removido da árvore.
+	 * @return o valor associado ao item removido.
+	 */
+	public V remover(K chave) {
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		try {
+			V removido = remover(raiz, chave);
+			if (!raiz.isFolha() && raiz.getQuantidade() == 0)
+				/// A raiz ficou com uma única filha: a árvore diminui um nível.
+				raiz = raiz.getFilho(0);
+			tamanho--;
+			return removido;
+		} finally {
+			termino = System.nanoTime();
+		}
+	}
+
+	private V remover(NoBMais<K, V> pagina, K chave) {
+
+		if (pagina.isFolha()) {
+			int posicao = buscar(pagina, chave);
+			if (posicao < 0)
+				throw new NoSuchElementException("O item não foi localizado na árvore!");
+			V removido = pagina.getItem(posicao);
+			pagina.removerEm(posicao);
+			return removido;
+		}
+
+		int posicao = posicaoFilho(pagina, chave);
+		NoBMais<K, V> filha = pagina.getFilho(posicao);
+		V removido = remover(filha, chave);
+
+		if (filha.getQuantidade() < minimo)
+			corrigirOcupacao(pagina, posicao);
+		return removido;
+	}
+
+	/**
+	 * Corrige a página filha que ficou abaixo da ocupação mínima: toma emprestada uma chave de uma irmã,
+	 * se ela puder cedê-la, ou funde a filha com uma irmã.
+	 * @param pai a página pai da filha a corrigir.
+	 * @param posicao a posição da filha na página pai.
+	 */
+	private void corrigirOcupacao(NoBMais<K, V> pai, int posicao) {
+
+		NoBMais<K, V> filha = pai.getFilho(posicao);
+		NoBMais<K, V> irmaEsquerda = (posicao > 0) ? pai.getFilho(posicao - 1) : null;
+		NoBMais<K, V> irmaDireita = (posicao < pai.getQuantidade()) ? pai.getFilho(posicao + 1) : null;
+
+		if (irmaEsquerda != null && irmaEsquerda.getQuantidade() > minimo) {
+			int ultima = irmaEsquerda.getQuantidade() - 1;
+			if (filha.isFolha()) {
+				filha.inserirNaFolha(0, irmaEsquerda.getChave(ultima), irmaEsquerda.getItem(ultima));
+				irmaEsquerda.removerEm(ultima);
+				pai.setChave(posicao - 1, filha.getChave(0));
+			} else {
+				filha.inserirPrimeiroFilho(pai.getChave(posicao - 1), irmaEsquerda.getFilho(ultima + 1));
+				pai.setChave(posicao - 1, irmaEsquerda.getChave(ultima));
+				irmaEsquerda.removerEm(ultima);
+			}
+		} else if (irmaDireita != null && irmaDireita.getQuantidade() > minimo) {
+			if (filha.isFolha()) {
+				filha.inserirNaFolha(filha.getQuantidade(), irmaDireita.getChave(0), irmaDireita.getItem(0));
+				irmaDireita.removerEm(0);
+				pai.setChave(posicao, irmaDireita.getChave(0));
+			} else {
+				filha.inserirNaInterna(filha.getQuantidade(), pai.getChave(posicao), irmaDireita.getFilho(0));
+				pai.setChave(posicao, irmaDireita.getChave(0));
+				irmaDireita.removerPrimeiroFilho();
+			}
+		} else if (irmaEsquerda != null) {
+			irmaEsquerda.absorver(pai.getChave(posicao - 1), filha);
+			pai.removerEm(posicao - 1);
+		} else {
+			filha.absorver(pai.getChave(posicao), irmaDireita);
+			pai.removerEm(posicao);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	@Override
+	/**
+	 * Percorre as folhas em sequência, a partir da primeira, listando os itens na ordem das chaves, um por linha.
+	 */
+	public String percorrer() {
+
+		StringBuilder itens = new StringBuilder();
+
+		for (NoBMais<K, V> folha = primeira; folha != null; folha = folha.getProxima())
+			for (int i = 0; i < folha.getQuantidade(); i++)
+				itens.append(folha.getItem(i)).append("\n");
+		return itens.toString();
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+}
@@ -0,0 +1,214 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * Sequência de operações (pesquisas, inserções e remoções) a ser executada, sem interação com o usuário,
+ * sobre os índices de produtos por id e por nome. A carga pode ser lida de um arquivo de consultas ou gerada
+ * a partir dos produtos já carregados, com uma assimetria configurável na escolha das chaves.
+ */
+public class CargaDeTrabalho {
+
+	/** Tipos de operação suportados pela carga de trabalho. */
+	public enum TipoOperacao { PESQUISAR, INSERIR, REMOVER }
+
+	/** Índice sobre o qual a operação é executada. */
+	public enum Indice { ID, NOME }
+
+	/** Uma operação da carga de trabalho. Inserções carregam o produto a inserir; as demais, apenas a chave. */
+	public static class Operacao {
+
+		private final TipoOperacao tipo;
+		private final Indice indice;
+		private final Object chave;
+		private final Produto produto;
+
+		public Operacao(TipoOperacao tipo, Indice indice, Object chave, Produto produto) {
+			this.tipo = tipo;
+			this.indice = indice;
+			this.chave = chave;
+			this.produto = produto;
+		}
+
+		public TipoOperacao getTipo() {
+			return tipo;
+		}
+
+		public Indice getIndice() {
+			return indice;
+		}
+
+		public Object getChave() {
+			return chave;
+		}
+
+		public Produto getProduto() {
+			return produto;
+		}
+	}
+
+	private final List<Operacao> operacoes;
+
+	private CargaDeTrabalho(List<Operacao> operacoes) {
+		this.operacoes = operacoes;
+	}
+
+	public List<Operacao> getOperacoes() {
+		return operacoes;
+	}
+
+	public int tamanho() {
+		return operacoes.size();
+	}
+
+	/**
+	 * Lê uma carga de trabalho de um arquivo-texto, com uma operação por linha, nos formatos <br/>
+	 * pesquisar;id|nome;chave <br/>
+	 * remover;id|nome;chave <br/>
+	 * inserir;tipo;descrição;preçoDeCusto;margemDeLucro;[dataDeValidade] <br/>
+	 * Linhas vazias ou iniciadas por # são ignoradas. A inserção é feita nos dois índices.
+	 * @param nomeArquivo Nome do arquivo de consultas.
+	 * @return A carga de trabalho lida do arquivo.
+	 * @throws IOException em caso de problemas na leitura do arquivo.
+	 * @throws IllegalArgumentException em caso de linha com formato inválido.
+	 */
+	public static CargaDeTrabalho lerDoArquivo(String nomeArquivo) throws IOException {
+
+		List<Operacao> operacoes = new ArrayList<>();
+		String linha;
+		String[] dadosLinha;
+
+		try (Scanner arquivo = new Scanner(new File(nomeArquivo), Charset.forName("UTF-8"))) {
+			while (arquivo.hasNextLine()) {
+				linha = arquivo.nextLine().strip();
+				if (linha.isEmpty() || linha.startsWith("#"))
+					continue;
+
+				dadosLinha = linha.split(";", 2);
+				if (dadosLinha.length < 2)
+					throw new IllegalArgumentException("Linha inválida no arquivo de consultas: " + linha);
+
+				TipoOperacao tipo = TipoOperacao.valueOf(dadosLinha[0].strip().toUpperCase());
+				if (tipo == TipoOperacao.INSERIR) {
+					Produto produto = Produto.criarDoTexto(dadosLinha[1]);
+					operacoes.add(new Operacao(tipo, Indice.ID, produto.idProduto, produto));
+				} else {
+					String[] indiceChave = dadosLinha[1].split(";", 2);
+					if (indiceChave.length < 2)
+						throw new IllegalArgumentException("Linha inválida no arquivo de consultas: " + linha);
+					Indice indice = Indice.valueOf(indiceChave[0].strip().toUpperCase());
+					Object chave = (indice == Indice.ID) ? Integer.valueOf(indiceChave[1].strip()) : indiceChave[1];
+					operacoes.add(new Operacao(tipo, indice, chave, null));
+				}
+			}
+		}
+		return new CargaDeTrabalho(operacoes);
+	}
+
+	/**
+	 * Gera uma carga de trabalho sintética a partir dos produtos carregados. As chaves pesquisadas são sorteadas entre
+	 * os produtos vivos no ponto da carga em que a pesquisa aparece (os carregados e os inseridos pela própria carga
+	 * e ainda não removidos), seguindo uma distribuição de Zipf sobre a ordem em que entraram, de forma que poucos
+	 * produtos concentram a maior parte dos acessos quando a assimetria é alta. Assimetria 0 corresponde à
+	 * distribuição uniforme.
+	 * As inserções criam produtos novos, derivados de produtos carregados, com descrições únicas (numeradas pela
+	 * posição da operação), para que os índices por id e por nome continuem com os mesmos produtos. As remoções
+	 * sorteiam, uniformemente, apenas produtos inseridos pela carga e ainda vivos, de forma que os produtos carregados
+	 * nunca se esgotam; quando não há nenhum, a remoção dá lugar a uma inserção.
+	 * Executada em uma única thread, toda pesquisa e toda remoção encontram sua chave. Com várias threads, uma
+	 * operação pode ser executada pouco antes da inserção da qual depende e não encontrá-la.
+	 * @param produtos Produtos carregados nos índices.
+	 * @param quantidade Quantidade de operações a gerar.
+	 * @param proporcaoPesquisas Fração das operações que são pesquisas (entre 0 e 1). O restante é dividido
+	 * igualmente entre inserções e remoções.
+	 * @param proporcaoId Fração das pesquisas e remoções feitas no índice por id (entre 0 e 1).
+	 * @param assimetria Expoente da distribuição de Zipf (0 ou maior).
+	 * @param semente Semente do gerador de números aleatórios, para permitir repetir a carga.
+	 * @return A carga de trabalho gerada.
+	 */
+	public static CargaDeTrabalho gerar(List<Produto> produtos, int quantidade, double proporcaoPesquisas,
+			double proporcaoId, double assimetria, long semente) {
+
+		if (produtos.isEmpty())
+			throw new IllegalArgumentException("Não há produtos para gerar a carga de trabalho.");
+		if (quantidade < 0 || proporcaoPesquisas < 0 || proporcaoPesquisas > 1
+				|| proporcaoId < 0 || proporcaoId > 1 || assimetria < 0)
+			throw new IllegalArgumentException("Parâmetros inválidos para a geração da carga de trabalho.");
+
+		Random aleatorio = new Random(semente);
+		List<Produto> vivos = new ArrayList<>(produtos);
+		int carregados = produtos.size();
+		double[] acumulada = distribuicaoZipf(carregados + quantidade, assimetria);
+		List<Operacao> operacoes = new ArrayList<>(quantidade);
+
+		for (int i = 0; i < quantidade; i++) {
+			double sorteio = aleatorio.nextDouble();
+
+			if (sorteio < proporcaoPesquisas) {
+				Produto alvo = vivos.get(sortearPosicao(acumulada, vivos.size(), aleatorio.nextDouble()));
+				operacoes.add(operacaoSobreChave(TipoOperacao.PESQUISAR, alvo, aleatorio.nextDouble() < proporcaoId));
+			} else if (sorteio < proporcaoPesquisas + (1 - proporcaoPesquisas) / 2 || vivos.size() == carregados) {
+				Produto base = produtos.get(aleatorio.nextInt(carregados));
+				Produto novo = Produto.criarDoTexto(base.gerarDadosTexto().replaceFirst(";", ";Novo " + i + " "));
+				vivos.add(novo);
+				operacoes.add(new Operacao(TipoOperacao.INSERIR, Indice.ID, novo.idProduto, novo));
+			} else {
+				int posicao = carregados + aleatorio.nextInt(vivos.size() - carregados);
+				Produto alvo = vivos.set(posicao, vivos.get(vivos.size() - 1));
+				vivos.remove(vivos.size() - 1);
+				operacoes.add(operacaoSobreChave(TipoOperacao.REMOVER, alvo, aleatorio.nextDouble() < proporcaoId));
+			}
+		}
+		return new CargaDeTrabalho(operacoes);
+	}
+
+	private static Operacao operacaoSobreChave(TipoOperacao tipo, Produto alvo, boolean porId) {
+
+		if (porId)
+			return new Operacao(tipo, Indice.ID, alvo.idProduto, null);
+		else
+			return new Operacao(tipo, Indice.NOME, alvo.descricao, null);
+	}
+
+	/**
+	 * Calcula a distribuição acumulada de Zipf, não normalizada, para n posições: a posição i (a partir de 1) tem
+	 * peso 1/i^s. Sem a normalização, qualquer prefixo do vetor serve como distribuição sobre as primeiras posições.
+	 * @param n Quantidade de posições.
+	 * @param assimetria Expoente s da distribuição.
+	 * @return Vetor com o peso acumulado de cada posição.
+	 */
+	private static double[] distribuicaoZipf(int n, double assimetria) {
+
+		double[] acumulada = new double[n];
+		double soma = 0;
+
+		for (int i = 0; i < n; i++) {
+			soma += 1.0 / Math.pow(i + 1, assimetria);
+			acumulada[i] = soma;
+		}
+		return acumulada;
+	}
+
+	/**
+	 * Sorteia uma das primeiras {@code limite} posições segundo os pesos acumulados: localiza, por pesquisa binária,
+	 * a primeira posição cujo peso acumulado é maior ou igual à fração sorteada do peso total do prefixo.
+	 */
+	private static int sortearPosicao(double[] acumulada, int limite, double sorteio) {
+
+		double alvo = sorteio * acumulada[limite - 1];
+		int inicio = 0, fim = limite - 1;
+
+		while (inicio < fim) {
+			int meio = (inicio + fim) >>> 1;
+			if (acumulada[meio] < alvo)
+				inicio = meio + 1;
+			else
+				fim = meio;
+		}
+		return inicio;
+	}
+}
@@ -0,0 +1,125 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Compara a latência de pesquisa da árvore binária de busca com a do índice congelado gerado a partir dela,
+ * pesquisando todas as chaves do catálogo, em ordem aleatória, nas duas estruturas. Os tempos incluem, nas duas,
+ * a medição que cada pesquisa faz para {@link IMedicao}.
+ */
+public class ComparativoCongelado {
+
+	/** Quantidade de rodadas de aquecimento, não medidas, para que o compilador JIT otimize as pesquisas. */
+	private static final int RODADAS_AQUECIMENTO = 20;
+
+	/**
+	 * Monta a árvore indexada pela chave extraída de cada produto, congela-a e compara as duas estruturas.
+	 * @param produtos Os produtos do catálogo.
+	 * @param extratorDeChave Função que extrai a chave de cada produto.
+	 * @param nomeIndice Nome do índice, para o relatório.
+	 * @param rodadas Quantidade de rodadas medidas; em cada uma, todas as chaves são pesquisadas.
+	 * @param semente Semente para embaralhar a ordem das pesquisas.
+	 * @return Uma string com o relatório da comparação.
+	 */
+	public static <K> String comparar(List<Produto> produtos, Function<Produto, K> extratorDeChave,
+			String nomeIndice, int rodadas, long semente) {
+
+		if (rodadas < 1)
+			throw new IllegalArgumentException("A quantidade de rodadas deve ser positiva.");
+
+		ABB<K, Produto> arvore = new ABB<>();
+		List<K> chaves = new ArrayList<>(produtos.size());
+
+		for (Produto produto : produtos) {
+			K chave = extratorDeChave.apply(produto);
+			arvore.inserir(chave, produto);
+			chaves.add(chave);
+		}
+		Collections.shuffle(chaves, new Random(semente));
+
+		long inicio = System.nanoTime();
+		IndiceCongelado<K, Produto> congelado = arvore.congelar();
+		double tempoCongelamento = (System.nanoTime() - inicio) / 1_000_000.0;
+
+		StringBuilder relatorio = new StringBuilder();
+		relatorio.append(String.format("Índice por %s: %d chaves, congelado em %.2f ms%n",
+				nomeIndice, arvore.tamanho(), tempoCongelamento));
+		relatorio.append(medir(arvore, congelado, chaves, rodadas));
+		return relatorio.toString();
+	}
+
+	/**
+	 * Mede as duas estruturas em rodadas alternadas: em cada rodada, as duas pesquisam todas as chaves, e a ordem
+	 * em que são executadas se inverte a cada rodada. Cada rodada é cronometrada como um todo e dividida pela
+	 * quantidade de pesquisas, para que o custo do relógio não se confunda com o da pesquisa.
+	 */
+	private static <K> String medir(IMapeamento<K, Produto> arvore, IMapeamento<K, Produto> congelado,
+			List<K> chaves, int rodadas) {
+
+		double[] porPesquisaArvore = new double[rodadas];
+		double[] porPesquisaCongelado = new double[rodadas];
+		long verificacao = 0;
+
+		for (int r = 0; r < RODADAS_AQUECIMENTO; r++) {
+			verificacao += rodada(arvore, chaves);
+			verificacao += rodada(congelado, chaves);
+		}
+
+		for (int r = 0; r < rodadas; r++) {
+			long inicio, duracaoArvore, duracaoCongelado;
+			if (r % 2 == 0) {
+				inicio = System.nanoTime();
+				verificacao += rodada(arvore, chaves);
+				duracaoArvore = System.nanoTime() - inicio;
+				inicio = System.nanoTime();
+				verificacao += rodada(congelado, chaves);
+				duracaoCongelado = System.nanoTime() - inicio;
+			} else {
+				inicio = System.nanoTime();
+				verificacao += rodada(congelado, chaves);
+				duracaoCongelado = System.nanoTime() - inicio;
+				inicio = System.nanoTime();
+				verificacao += rodada(arvore, chaves);
+				duracaoArvore = System.nanoTime() - inicio;
+			}
+			porPesquisaArvore[r] = (double) duracaoArvore / chaves.size();
+			porPesquisaCongelado[r] = (double) duracaoCongelado / chaves.size();
+		}
+
+		return resumir("árvore", porPesquisaArvore, comparacoesMedias(arvore, chaves))
+				+ resumir("congelado", porPesquisaCongelado, comparacoesMedias(congelado, chaves))
+				+ String.format("  (soma de verificação %d)%n", verificacao);
+	}
+
+	/** Pesquisa todas as chaves, acumulando os ids encontrados para que as pesquisas não sejam descartadas pelo JIT. */
+	private static <K> long rodada(IMapeamento<K, Produto> estrutura, List<K> chaves) {
+
+		long soma = 0;
+		for (K chave : chaves)
+			soma += estrutura.pesquisar(chave).idProduto;
+		return soma;
+	}
+
+	/** Quantidade média de comparações informada pela estrutura, medida fora das rodadas cronometradas. */
+	private static <K> double comparacoesMedias(IMapeamento<K, Produto> estrutura, List<K> chaves) {
+
+		long soma = 0;
+		for (K chave : chaves) {
+			estrutura.pesquisar(chave);
+			soma += estrutura.getComparacoes();
+		}
+		return (double) soma / chaves.size();
+	}
+
+	private static String resumir(String nome, double[] porPesquisa, double comparacoes) {
+
+		double[] ordenados = porPesquisa.clone();
+		Arrays.sort(ordenados);
+		return String.format("  %-10s por pesquisa: mediana das rodadas %.1f ns, melhor %.1f ns, pior %.1f ns; "
+				+ "comparações médias %.2f%n", nome, ordenados[ordenados.length / 2], ordenados[0],
+				ordenados[ordenados.length - 1], comparacoes);
+	}
+}
@@ -0,0 +1,194 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara o uso de heap e as pausas de coleta de lixo do modelo de objetos atual (índice por id com referências a
+ * objetos {@link Produto}) com o do armazém fora do heap (índice {@link IndiceRegistros}, de ids para números de
+ * registros em {@link ArmazemProdutos}, sem objetos por produto). O catálogo é replicado para simular catálogos
+ * maiores.
+ */
+public class ComparativoMemoria {
+
+	/** Quantidade de megabytes alocados, em vetores de 1 KB, na fase de alocação de cada modelo. */
+	private static final int MEGABYTES_ALOCADOS = 2048;
+
+	/**
+	 * Quantidade de vetores de 1 KB mantidos vivos na fase de alocação (64 MB). Cada vetor sobrevive enquanto os
+	 * próximos 64 MB são alocados, tempo suficiente para passar por coletas da geração jovem e ser promovido.
+	 */
+	private static final int VETORES_RETIDOS = 65_536;
+
+	/**
+	 * Executa a comparação: carrega o catálogo replicado em cada modelo, mede o heap ocupado e o tempo de uma coleta
+	 * completa com o catálogo carregado, executa uma fase de alocação, em que objetos promovidos à geração antiga
+	 * provocam coletas que percorrem o catálogo ainda no heap, e executa pesquisas aleatórias medindo as coletas
+	 * ocorridas nelas.
+	 * @param produtos Os produtos do catálogo original.
+	 * @param fator Quantidade de réplicas do catálogo (mínimo 1).
+	 * @param pesquisas Quantidade de pesquisas aleatórias executadas em cada modelo.
+	 * @param semente Semente do gerador de números aleatórios.
+	 * @return Uma string com o relatório da comparação.
+	 */
+	public static String comparar(List<Produto> produtos, int fator, int pesquisas, long semente) {
+
+		if (fator < 1)
+			throw new IllegalArgumentException("O fator de replicação deve ser positivo.");
+
+		int total = produtos.size() * fator;
+		int[] ids = new int[total];
+		StringBuilder relatorio = new StringBuilder();
+
+		relatorio.append(String.format("Produtos carregados em cada modelo: %d%n", total));
+		relatorio.append(compararObjetos(produtos, fator, ids, pesquisas, semente));
+		relatorio.append(compararArmazem(produtos, fator, ids, pesquisas, semente));
+		return relatorio.toString();
+	}
+
+	/**
+	 * Carrega e mede o modelo de objetos. Fica em um método próprio para que a árvore deixe de ser alcançável
+	 * ao seu término, antes da medição do armazém.
+	 */
+	private static String compararObjetos(List<Produto> produtos, int fator, int[] ids, int pesquisas, long semente) {
+
+		long heapInicial = heapUsado();
+		ABB<Integer, Produto> objetos = new ABB<>();
+
+		for (int r = 0, i = 0; r < fator; r++) {
+			for (Produto original : produtos) {
+				Produto produto = Produto.criarDoTexto(original.gerarDadosTexto());
+				objetos.inserir(produto.idProduto, produto);
+				ids[i++] = produto.idProduto;
+			}
+		}
+		return medir("objetos", heapInicial, 0, ids, pesquisas, semente,
+				id -> objetos.pesquisar(id).valorDeVenda());
+	}
+
+	/** Carrega e mede o armazém, cujas pesquisas leem o valor de venda por uma única {@link VisaoProduto}. */
+	private static String compararArmazem(List<Produto> produtos, int fator, int[] ids, int pesquisas, long semente) {
+
+		long heapInicial = heapUsado();
+		ArmazemProdutos armazem = new ArmazemProdutos(ids.length);
+		IndiceRegistros registros = carregarArmazem(produtos, fator, ids, armazem);
+		VisaoProduto visao = new VisaoProduto(armazem);
+
+		return medir("armazém", heapInicial, armazem.bytesReservados(), ids, pesquisas, semente,
+				id -> visao.apontar(registros.pesquisar(id)).valorDeVenda());
+	}
+
+	/**
+	 * Carrega o catálogo replicado no armazém e monta o índice de registros. Fica em um método próprio para que o
+	 * vetor temporário de números de registros deixe de ser alcançável antes da medição do heap.
+	 */
+	private static IndiceRegistros carregarArmazem(List<Produto> produtos, int fator, int[] ids,
+			ArmazemProdutos armazem) {
+
+		int[] numerosRegistros = new int[ids.length];
+
+		for (int r = 0, i = 0; r < fator; r++) {
+			for (Produto original : produtos) {
+				Produto produto = Produto.criarDoTexto(original.gerarDadosTexto());
+				numerosRegistros[i] = armazem.adicionar(produto);
+				ids[i++] = produto.idProduto;
+			}
+		}
+		return new IndiceRegistros(ids, numerosRegistros);
+	}
+
+	/** Pesquisa de um produto pelo id, em um dos modelos, retornando seu valor de venda. */
+	private interface Pesquisa {
+		double valorDeVenda(int id);
+	}
+
+	private static String medir(String nome, long heapInicial, long foraDoHeap, int[] ids, int pesquisas,
+			long semente, Pesquisa pesquisa) {
+
+		long heap = heapUsado() - heapInicial;
+
+		long inicio = System.nanoTime();
+		System.gc();
+		double coletaCompleta = (System.nanoTime() - inicio) / 1_000_000.0;
+
+		String alocacao = alocar();
+
+		Random aleatorio = new Random(semente);
+		long coletasAntes = quantidadeColetas(), tempoAntes = tempoColetas();
+		double somaPrecos = 0;
+
+		inicio = System.nanoTime();
+		for (int i = 0; i < pesquisas; i++)
+			somaPrecos += pesquisa.valorDeVenda(ids[aleatorio.nextInt(ids.length)]);
+		double duracao = (System.nanoTime() - inicio) / 1_000_000.0;
+
+		return String.format("  %-8s heap %.1f MB, fora do heap %.1f MB, coleta completa %.1f ms; %d pesquisas em %.1f ms, "
+				+ "%d coletas, %d ms em coletas (soma de verificação %.0f)%n%s",
+				nome, heap / 1_048_576.0, foraDoHeap / 1_048_576.0, coletaCompleta, pesquisas, duracao,
+				quantidadeColetas() - coletasAntes, tempoColetas() - tempoAntes, somaPrecos, alocacao);
+	}
+
+	/**
+	 * Fase de alocação: aloca {@link #MEGABYTES_ALOCADOS} em vetores de 1 KB, mantendo vivos os últimos
+	 * {@link #VETORES_RETIDOS}, e informa, para cada coletor, as coletas ocorridas e o tempo médio de cada uma.
+	 * Os vetores promovidos enchem a geração antiga, cujas coletas também percorrem o que o modelo mantém no heap.
+	 */
+	private static String alocar() {
+
+		List<GarbageCollectorMXBean> coletores = ManagementFactory.getGarbageCollectorMXBeans();
+		byte[][] retidos = new byte[VETORES_RETIDOS][];
+		long[] coletasAntes = new long[coletores.size()], tempoAntes = new long[coletores.size()];
+
+		for (int c = 0; c < coletores.size(); c++) {
+			coletasAntes[c] = Math.max(0, coletores.get(c).getCollectionCount());
+			tempoAntes[c] = Math.max(0, coletores.get(c).getCollectionTime());
+		}
+
+		long inicio = System.nanoTime();
+		for (long i = 0; i < MEGABYTES_ALOCADOS * 1024L; i++) {
+			byte[] vetor = new byte[1024];
+			vetor[0] = (byte) i;
+			retidos[(int) (i % VETORES_RETIDOS)] = vetor;
+		}
+		double duracao = (System.nanoTime() - inicio) / 1_000_000.0;
+
+		long verificacao = 0;
+		for (byte[] vetor : retidos)
+			verificacao += vetor[0];
+
+		StringBuilder relatorio = new StringBuilder(String.format(
+				"           alocação de %d MB em %.1f ms (soma de verificação %d):", MEGABYTES_ALOCADOS, duracao, verificacao));
+		for (int c = 0; c < coletores.size(); c++) {
+			long coletas = Math.max(0, coletores.get(c).getCollectionCount()) - coletasAntes[c];
+			long tempo = Math.max(0, coletores.get(c).getCollectionTime()) - tempoAntes[c];
+			relatorio.append(String.format(" %s %d coletas, %d ms (média %.2f ms);", coletores.get(c).getName(),
+					coletas, tempo, (coletas > 0) ? (double) tempo / coletas : 0.0));
+		}
+		relatorio.setLength(relatorio.length() - 1);
+		return relatorio.append(String.format("%n")).toString();
+	}
+
+	/** Heap ocupado após solicitar coletas completas, em bytes. */
+	private static long heapUsado() {
+
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	private static long quantidadeColetas() {
+
+		long total = 0;
+		for (GarbageCollectorMXBean coletor : ManagementFactory.getGarbageCollectorMXBeans())
+			total += Math.max(0, coletor.getCollectionCount());
+		return total;
+	}
+
+	private static long tempoColetas() {
+
+		long total = 0;
+		for (GarbageCollectorMXBean coletor : ManagementFactory.getGarbageCollectorMXBeans())
+			total += Math.max(0, coletor.getCollectionTime());
+		return total;
+	}
+}
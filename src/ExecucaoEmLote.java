@@ -0,0 +1,233 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa uma carga de trabalho sobre os índices de produtos por id e por nome, a partir de várias threads,
+ * e apresenta a vazão, os percentis de latência e as estatísticas de {@link IMedicao} de cada índice.
+ *
+ * As árvores não são seguras para acesso concorrente e guardam a medição da última operação; por isso,
+ * cada operação sobre um índice, junto com a leitura de suas medições, é feita com exclusão mútua sobre ele.
+ * Inserções e remoções alteram os dois índices e, para que nenhuma outra operação veja o produto em apenas um
+ * deles, obtêm as duas exclusões, sempre na mesma ordem (primeiro a do índice por id), o que evita impasses.
+ * Operações que deixam os índices com produtos diferentes (por exemplo, a inserção de uma descrição já existente,
+ * que substitui o produto no índice por nome e acrescenta outro no índice por id) são contadas como divergências.
+ */
+public class ExecucaoEmLote {
+
+	private final ABB<Integer, Produto> porId;
+	private final ABB<String, Produto> porNome;
+	private final int quantidadeThreads;
+
+	private long[] latencias;
+	private long[] comparacoes;
+	private double[] tempos;
+	private boolean[] encontrados;
+	private AtomicInteger divergencias;
+	private long duracaoTotal;
+
+	/**
+	 * Construtor da classe.
+	 * @param porId Índice de produtos por id.
+	 * @param porNome Índice de produtos por nome.
+	 * @param quantidadeThreads Quantidade de threads que executarão a carga (mínimo 1).
+	 */
+	public ExecucaoEmLote(ABB<Integer, Produto> porId, ABB<String, Produto> porNome, int quantidadeThreads) {
+
+		if (quantidadeThreads < 1)
+			throw new IllegalArgumentException("A quantidade de threads deve ser positiva.");
+		this.porId = porId;
+		this.porNome = porNome;
+		this.quantidadeThreads = quantidadeThreads;
+	}
+
+	/**
+	 * Executa todas as operações da carga, distribuídas entre as threads, e registra as medições de cada uma.
+	 * @param carga A carga de trabalho a ser executada.
+	 */
+	public void executar(CargaDeTrabalho carga) {
+
+		List<CargaDeTrabalho.Operacao> operacoes = carga.getOperacoes();
+		AtomicInteger proxima = new AtomicInteger(0);
+		ExecutorService executor = Executors.newFixedThreadPool(quantidadeThreads);
+
+		latencias = new long[operacoes.size()];
+		comparacoes = new long[operacoes.size()];
+		tempos = new double[operacoes.size()];
+		encontrados = new boolean[operacoes.size()];
+		divergencias = new AtomicInteger(0);
+
+		Runnable tarefa = () -> {
+			int i;
+			while ((i = proxima.getAndIncrement()) < operacoes.size()) {
+				long inicio = System.nanoTime();
+				executar(operacoes.get(i), i);
+				latencias[i] = System.nanoTime() - inicio;
+			}
+		};
+
+		long inicio = System.nanoTime();
+		try {
+			Future<?>[] execucoes = new Future<?>[quantidadeThreads];
+			for (int t = 0; t < quantidadeThreads; t++)
+				execucoes[t] = executor.submit(tarefa);
+			for (Future<?> execucao : execucoes)
+				execucao.get();
+		} catch (InterruptedException excecao) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException excecao) {
+			throw new IllegalStateException("Falha na execução da carga de trabalho.", excecao.getCause());
+		} finally {
+			executor.shutdown();
+		}
+		duracaoTotal = System.nanoTime() - inicio;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void executar(CargaDeTrabalho.Operacao operacao, int posicao) {
+
+		ABB<Object, Produto> indice = (ABB<Object, Produto>) (ABB<?, Produto>)
+				((operacao.getIndice() == CargaDeTrabalho.Indice.ID) ? porId : porNome);
+
+		switch (operacao.getTipo()) {
+			case PESQUISAR -> {
+				synchronized (indice) {
+					try {
+						indice.pesquisar(operacao.getChave());
+						encontrados[posicao] = true;
+					} catch (NoSuchElementException excecao) {
+						encontrados[posicao] = false;
+					}
+					comparacoes[posicao] = indice.getComparacoes();
+					tempos[posicao] = indice.getTempo();
+				}
+			}
+			case INSERIR -> {
+				Produto produto = operacao.getProduto();
+				synchronized (porId) {
+					synchronized (porNome) {
+						int tamanhoPorId = porId.tamanho(), tamanhoPorNome = porNome.tamanho();
+						boolean novoPorId = porId.inserir(produto.idProduto, produto) > tamanhoPorId;
+						boolean novoPorNome = porNome.inserir(produto.descricao, produto) > tamanhoPorNome;
+						if (novoPorId != novoPorNome)
+							divergencias.incrementAndGet();
+					}
+				}
+				encontrados[posicao] = true;
+			}
+			case REMOVER -> {
+				Produto removido;
+				synchronized (porId) {
+					synchronized (porNome) {
+						try {
+							removido = indice.remover(operacao.getChave());
+							removerDoOutroIndice(operacao.getIndice(), removido);
+						} catch (NoSuchElementException excecao) {
+							removido = null;
+						}
+					}
+				}
+				encontrados[posicao] = (removido != null);
+			}
+		}
+	}
+
+	/**
+	 * Remove, do índice que não recebeu a operação, o produto removido do outro. Se ele não estiver lá, ou se a chave
+	 * levar a outro produto, os índices já estavam divergentes, e a divergência é contada. Deve ser chamado com as
+	 * exclusões dos dois índices obtidas.
+	 */
+	private void removerDoOutroIndice(CargaDeTrabalho.Indice indice, Produto removido) {
+
+		try {
+			Produto outro = (indice == CargaDeTrabalho.Indice.ID)
+					? porNome.remover(removido.descricao)
+					: porId.remover(removido.idProduto);
+			if (outro != removido)
+				divergencias.incrementAndGet();
+		} catch (NoSuchElementException excecao) {
+			divergencias.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Gera o relatório da última execução: vazão, percentis de latência por tipo de operação, estatísticas
+	 * de comparações e tempo das pesquisas em cada índice, proporção de remoções que encontraram o produto e
+	 * quantidade de divergências entre os índices.
+	 * @param carga A carga de trabalho executada.
+	 * @return Uma string com o relatório.
+	 */
+	public String relatorio(CargaDeTrabalho carga) {
+
+		List<CargaDeTrabalho.Operacao> operacoes = carga.getOperacoes();
+		StringBuilder relatorio = new StringBuilder();
+		double segundos = duracaoTotal / 1_000_000_000.0;
+
+		relatorio.append(String.format("Operações executadas: %d, com %d thread(s)%n", operacoes.size(), quantidadeThreads));
+		relatorio.append(String.format("Duração total: %.3f s%n", segundos));
+		relatorio.append(String.format("Vazão: %.1f operações/s%n", operacoes.size() / segundos));
+
+		for (CargaDeTrabalho.TipoOperacao tipo : CargaDeTrabalho.TipoOperacao.values()) {
+			long[] selecionadas = new long[operacoes.size()];
+			int quantidade = 0;
+			for (int i = 0; i < operacoes.size(); i++)
+				if (operacoes.get(i).getTipo() == tipo)
+					selecionadas[quantidade++] = latencias[i];
+			Arrays.sort(selecionadas, 0, quantidade);
+			if (quantidade > 0)
+				relatorio.append(String.format("%s (%d): latência p50 %.1f µs, p90 %.1f µs, p99 %.1f µs, p99.9 %.1f µs, máx %.1f µs%n",
+						tipo, quantidade, percentil(selecionadas, quantidade, 50), percentil(selecionadas, quantidade, 90),
+						percentil(selecionadas, quantidade, 99), percentil(selecionadas, quantidade, 99.9),
+						percentil(selecionadas, quantidade, 100)));
+		}
+
+		for (CargaDeTrabalho.Indice indice : CargaDeTrabalho.Indice.values()) {
+			int pesquisas = 0, sucessos = 0;
+			long somaComparacoes = 0, maxComparacoes = 0;
+			double somaTempos = 0;
+			for (int i = 0; i < operacoes.size(); i++) {
+				CargaDeTrabalho.Operacao operacao = operacoes.get(i);
+				if (operacao.getTipo() == CargaDeTrabalho.TipoOperacao.PESQUISAR && operacao.getIndice() == indice) {
+					pesquisas++;
+					if (encontrados[i])
+						sucessos++;
+					somaComparacoes += comparacoes[i];
+					maxComparacoes = Math.max(maxComparacoes, comparacoes[i]);
+					somaTempos += tempos[i];
+				}
+			}
+			if (pesquisas > 0)
+				relatorio.append(String.format("Índice por %s: %d pesquisas, %d encontrados (%.1f%%), comparações médias %.2f (máx %d), tempo médio %.4f ms%n",
+						indice.name().toLowerCase(), pesquisas, sucessos, 100.0 * sucessos / pesquisas,
+						(double) somaComparacoes / pesquisas, maxComparacoes, somaTempos / pesquisas));
+		}
+
+		int remocoes = 0, removidos = 0;
+		for (int i = 0; i < operacoes.size(); i++) {
+			if (operacoes.get(i).getTipo() == CargaDeTrabalho.TipoOperacao.REMOVER) {
+				remocoes++;
+				if (encontrados[i])
+					removidos++;
+			}
+		}
+		if (remocoes > 0)
+			relatorio.append(String.format("Remoções: %d, %d encontradas (%.1f%%)%n", remocoes, removidos,
+					100.0 * removidos / remocoes));
+		relatorio.append(String.format("Divergências entre os índices por id e por nome: %d%n", divergencias.get()));
+
+		return relatorio.toString();
+	}
+
+	/** Calcula o percentil indicado, em microssegundos, das primeiras {@code quantidade} latências do vetor, já ordenadas. */
+	private static double percentil(long[] valores, int quantidade, double percentil) {
+
+		int posicao = (int) Math.ceil(percentil / 100.0 * quantidade) - 1;
+		posicao = Math.max(0, Math.min(quantidade - 1, posicao));
+		return valores[posicao] / 1_000.0;
+	}
+}
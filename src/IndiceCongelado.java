@@ -0,0 +1,205 @@
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Índice imutável, somente para leitura, obtido de uma árvore binária de busca por {@link ABB#congelar()}.
+ * Chaves e itens ficam em vetores no layout de Eytzinger (ordem de caminhamento em largura de uma árvore completa):
+ * os filhos da posição i estão nas posições 2i e 2i + 1, e os primeiros níveis da busca ficam contíguos em memória.
+ * A descida não desvia conforme o resultado da comparação: ela sempre percorre todos os níveis, calculando a próxima
+ * posição aritmeticamente, e só ao final verifica se a chave foi encontrada.
+ * Quando as chaves são inteiros em ordem natural, elas são guardadas em um vetor de int, sem referências a seguir,
+ * e a descida antecipa a leitura dos descendentes. Para as demais chaves não há antecipação: cada comparação
+ * precisa do objeto da chave, que fica fora do vetor e que uma leitura antecipada do vetor não carregaria.
+ */
+public class IndiceCongelado<K, V> implements IMapeamento<K, V> {
+
+	/** Quantidade de níveis entre a posição atual e o descendente lido antecipadamente na descida sobre chaves inteiras. */
+	private static final int NIVEIS_ANTECIPACAO = 4;
+
+	private final Object[] chaves;        // chaves em layout de Eytzinger; a posição 0 não é usada.
+	private final int[] chavesInteiras;   // as mesmas chaves, quando são inteiros em ordem natural; null, caso contrário.
+	private final Object[] itens;         // itens, nas mesmas posições de suas chaves.
+	private final Comparator<K> comparador;
+	private final int tamanho;
+	private long comparacoes;
+	private long inicio;
+	private long termino;
+	private int antecipadas;              // leituras antecipadas da última descida, para que não sejam descartadas pelo compilador.
+
+	/**
+	 * Construtor da classe. Recebe as chaves e os itens em ordem crescente e os reorganiza no layout de Eytzinger.
+	 * @param chavesOrdenadas as chaves, em ordem crescente segundo o comparador.
+	 * @param itensOrdenados os itens associados às chaves, na mesma ordem.
+	 * @param comparador o comparador que define a ordem das chaves.
+	 * @throws IllegalArgumentException se houver 2^30 chaves ou mais, quando a posição 2i + 1 não cabe em um int.
+	 */
+	IndiceCongelado(Object[] chavesOrdenadas, Object[] itensOrdenados, Comparator<K> comparador) {
+
+		if (chavesOrdenadas.length >= 1 << 30)
+			throw new IllegalArgumentException("O índice congelado suporta no máximo 2^30 - 1 chaves.");
+		this.tamanho = chavesOrdenadas.length;
+		this.comparador = comparador;
+		this.chaves = new Object[tamanho + 1];
+		this.itens = new Object[tamanho + 1];
+		distribuir(chavesOrdenadas, itensOrdenados, 0, 1);
+
+		if (comparador == Comparator.naturalOrder() && todasInteiras(chavesOrdenadas)) {
+			chavesInteiras = new int[tamanho + 1];
+			for (int i = 1; i <= tamanho; i++)
+				chavesInteiras[i] = (Integer) chaves[i];
+		} else {
+			chavesInteiras = null;
+		}
+	}
+
+	/**
+	 * Recursivamente, preenche as posições da subárvore implícita com raiz na posição indicada, num caminhamento
+	 * em ordem, consumindo os elementos ordenados a partir da próxima posição livre.
+	 * @return a próxima posição livre dos vetores ordenados.
+	 */
+	private int distribuir(Object[] chavesOrdenadas, Object[] itensOrdenados, int proxima, int posicao) {
+
+		if (posicao <= tamanho) {
+			proxima = distribuir(chavesOrdenadas, itensOrdenados, proxima, 2 * posicao);
+			chaves[posicao] = chavesOrdenadas[proxima];
+			itens[posicao] = itensOrdenados[proxima];
+			proxima++;
+			proxima = distribuir(chavesOrdenadas, itensOrdenados, proxima, 2 * posicao + 1);
+		}
+		return proxima;
+	}
+
+	private static boolean todasInteiras(Object[] chaves) {
+
+		for (Object chave : chaves)
+			if (!(chave instanceof Integer))
+				return false;
+		return true;
+	}
+
+	@Override
+	/**
+	 * Pesquisa a chave descendo todos os níveis do layout de Eytzinger.
+	 * @param chave a chave do item que será pesquisado.
+	 * @return o valor associado à chave.
+	 */
+	@SuppressWarnings("unchecked")
+	public V pesquisar(K chave) {
+
+		int posicao;
+
+		comparacoes = 0;
+		inicio = System.nanoTime();
+		try {
+			if (chavesInteiras != null)
+				posicao = localizarInteira((Integer) chave);
+			else
+				posicao = localizar(chave);
+
+			comparacoes++;
+			if (posicao == 0 || comparador.compare(chave, (K) chaves[posicao]) != 0)
+				throw new NoSuchElementException("O item não foi localizado no índice!");
+			return (V) itens[posicao];
+		} finally {
+			termino = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Localiza a posição da menor chave maior ou igual à procurada. A cada nível, a próxima posição é 2i quando
+	 * a procurada não é maior do que a chave atual e 2i + 1 caso contrário. Ao sair do vetor, descarta-se o sufixo
+	 * de descidas à direita (bits 1 finais) e a última descida à esquerda, voltando ao ancestral procurado.
+	 * @return a posição encontrada, ou 0 caso todas as chaves sejam menores do que a procurada.
+	 */
+	@SuppressWarnings("unchecked")
+	private int localizar(K chave) {
+
+		int posicao = 1;
+
+		while (posicao <= tamanho) {
+			comparacoes++;
+			posicao = 2 * posicao + (comparador.compare(chave, (K) chaves[posicao]) > 0 ? 1 : 0);
+		}
+		return posicao >>> (Integer.numberOfTrailingZeros(~posicao) + 1);
+	}
+
+	/**
+	 * Versão de {@link #localizar} sobre o vetor de chaves inteiras. O Java não oferece instrução de pré-carga de
+	 * cache; como aproximação, a cada nível lê-se a posição do primeiro dos dezesseis descendentes quatro níveis
+	 * abaixo (16i a 16i + 15). Eles ocupam 64 bytes contíguos, mas, como os dados do vetor não começam alinhados
+	 * a uma linha de cache, costumam ficar divididos entre duas linhas, e a leitura antecipada só traz a primeira.
+	 * A posição é limitada ao fim do vetor antes do deslocamento, para que não transborde em vetores grandes, e as
+	 * leituras são acumuladas em uma variável local, gravada uma única vez, para não serem descartadas pelo compilador.
+	 */
+	private int localizarInteira(int chave) {
+
+		int posicao = 1, antecipadasNaDescida = 0;
+
+		while (posicao <= tamanho) {
+			int antecipada = (posicao <= tamanho >>> NIVEIS_ANTECIPACAO) ? posicao << NIVEIS_ANTECIPACAO : tamanho;
+			antecipadasNaDescida += chavesInteiras[antecipada];
+			comparacoes++;
+			posicao = 2 * posicao + (chave > chavesInteiras[posicao] ? 1 : 0);
+		}
+		antecipadas = antecipadasNaDescida;
+		return posicao >>> (Integer.numberOfTrailingZeros(~posicao) + 1);
+	}
+
+	@Override
+	/**
+	 * O índice congelado é somente para leitura.
+	 * @throws UnsupportedOperationException sempre.
+	 */
+	public int inserir(K chave, V item) {
+		throw new UnsupportedOperationException("O índice congelado é somente para leitura.");
+	}
+
+	@Override
+	/**
+	 * O índice congelado é somente para leitura.
+	 * @throws UnsupportedOperationException sempre.
+	 */
+	public V remover(K chave) {
+		throw new UnsupportedOperationException("O índice congelado é somente para leitura.");
+	}
+
+	@Override
+	public String toString() {
+		return percorrer();
+	}
+
+	@Override
+	/**
+	 * Lista os itens na ordem das chaves, um por linha, num caminhamento em ordem da árvore implícita.
+	 */
+	public String percorrer() {
+
+		StringBuilder itensEmOrdem = new StringBuilder();
+		percorrer(1, itensEmOrdem);
+		return itensEmOrdem.toString();
+	}
+
+	private void percorrer(int posicao, StringBuilder itensEmOrdem) {
+
+		if (posicao <= tamanho) {
+			percorrer(2 * posicao, itensEmOrdem);
+			itensEmOrdem.append(itens[posicao]).append("\n");
+			percorrer(2 * posicao + 1, itensEmOrdem);
+		}
+	}
+
+	@Override
+	public int tamanho() {
+		return tamanho;
+	}
+
+	@Override
+	public long getComparacoes() {
+		return comparacoes;
+	}
+
+	@Override
+	public double getTempo() {
+		return (termino - inicio) / 1_000_000.0;
+	}
+}
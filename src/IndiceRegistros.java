@@ -0,0 +1,99 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Índice somente para leitura de ids de produtos para números de registros de {@link ArmazemProdutos}. Ids e números
+ * de registros ficam em dois vetores de int no layout de Eytzinger, com a mesma descida sem desvios e a mesma
+ * leitura antecipada do caminho de chaves inteiras de {@link IndiceCongelado}. Como nenhum dos dois é guardado em
+ * objetos, o índice inteiro ocupa apenas dois vetores no heap, qualquer que seja a quantidade de produtos, e a
+ * pesquisa não cria objetos.
+ */
+public class IndiceRegistros {
+
+	/** Quantidade de níveis entre a posição atual e o descendente lido antecipadamente na descida. */
+	private static final int NIVEIS_ANTECIPACAO = 4;
+
+	private final int[] ids;         // ids em layout de Eytzinger; a posição 0 não é usada.
+	private final int[] registros;   // números de registros, nas mesmas posições de seus ids.
+	private final int tamanho;
+	private int antecipadas;         // leituras antecipadas da última descida, para que não sejam descartadas pelo compilador.
+
+	/**
+	 * Construtor da classe. Recebe os pares de id e número de registro em qualquer ordem e os reorganiza no layout
+	 * de Eytzinger.
+	 * @param idsProdutos os ids dos produtos, sem repetições.
+	 * @param numerosRegistros os números de registros, nas mesmas posições de seus ids.
+	 * @throws IllegalArgumentException se os vetores tiverem tamanhos diferentes, se houver ids repetidos ou
+	 * se houver 2^30 ids ou mais.
+	 */
+	public IndiceRegistros(int[] idsProdutos, int[] numerosRegistros) {
+
+		if (idsProdutos.length != numerosRegistros.length)
+			throw new IllegalArgumentException("Ids e números de registros devem ter o mesmo tamanho.");
+		if (idsProdutos.length >= 1 << 30)
+			throw new IllegalArgumentException("O índice de registros suporta no máximo 2^30 - 1 ids.");
+
+		/// Cada par é ordenado como um long, com o id na metade superior, para não criar um objeto por par.
+		long[] pares = new long[idsProdutos.length];
+		for (int i = 0; i < pares.length; i++)
+			pares[i] = ((long) idsProdutos[i] << 32) | (numerosRegistros[i] & 0xFFFF_FFFFL);
+		Arrays.sort(pares);
+		for (int i = 1; i < pares.length; i++)
+			if ((int) (pares[i] >> 32) == (int) (pares[i - 1] >> 32))
+				throw new IllegalArgumentException("Id repetido no índice de registros: " + (int) (pares[i] >> 32));
+
+		this.tamanho = pares.length;
+		this.ids = new int[tamanho + 1];
+		this.registros = new int[tamanho + 1];
+		distribuir(pares, 0, 1);
+	}
+
+	/**
+	 * Recursivamente, preenche as posições da subárvore implícita com raiz na posição indicada, num caminhamento
+	 * em ordem, consumindo os pares ordenados a partir da próxima posição livre.
+	 * @return a próxima posição livre do vetor de pares.
+	 */
+	private int distribuir(long[] pares, int proximo, int posicao) {
+
+		if (posicao <= tamanho) {
+			proximo = distribuir(pares, proximo, 2 * posicao);
+			ids[posicao] = (int) (pares[proximo] >> 32);
+			registros[posicao] = (int) pares[proximo];
+			proximo++;
+			proximo = distribuir(pares, proximo, 2 * posicao + 1);
+		}
+		return proximo;
+	}
+
+	/**
+	 * Pesquisa o número do registro do produto com o id informado.
+	 * @param id o id do produto.
+	 * @return o número do registro do produto no armazém.
+	 * @throws NoSuchElementException se o id não estiver no índice.
+	 */
+	public int pesquisar(int id) {
+
+		int posicao = 1, antecipadasNaDescida = 0;
+
+		while (posicao <= tamanho) {
+			int antecipada = (posicao <= tamanho >>> NIVEIS_ANTECIPACAO) ? posicao << NIVEIS_ANTECIPACAO : tamanho;
+			antecipadasNaDescida += ids[antecipada];
+			posicao = 2 * posicao + (id > ids[posicao] ? 1 : 0);
+		}
+		antecipadas = antecipadasNaDescida;
+		posicao >>>= Integer.numberOfTrailingZeros(~posicao) + 1;
+
+		if (posicao == 0 || ids[posicao] != id)
+			throw new NoSuchElementException("O item não foi localizado no índice!");
+		return registros[posicao];
+	}
+
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/** Bytes ocupados pelos vetores do índice, sem contar os cabeçalhos dos objetos. */
+	public long bytesOcupados() {
+		return 2L * Integer.BYTES * (tamanho + 1);
+	}
+}
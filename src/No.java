@@ -5,6 +5,7 @@ public class No<K, V> {
 	private No<K, V> direita;    // referência ao nodo armazenado, na árvore, à direita do nó em questão.
 	private No<K, V> esquerda;   // referência ao nodo armazenado, na árvore, à esquerda do nó em questão.
 	private int altura;
+	private int tamanho;         // quantidade de nodos da subárvore com raiz neste nó, atualizada junto com a altura.
 	
 	public No(K chave, V item) {
 		setChave(chave);
@@ -12,6 +13,7 @@ public class No<K, V> {
 	    setDireita(null);
 	    setEsquerda(null);
 	    altura = 0;
+	    tamanho = 1;
 	}
 
 	public V getItem() {
@@ -46,6 +48,18 @@ public class No<K, V> {
 		this.esquerda = esquerda;
 	}
 	
+	private int getTamanho(No<K, V> no) {
+		
+		if (no != null)
+			return no.getTamanho();
+		else
+			return 0;
+	}
+	
+	public int getTamanho() {
+		return this.tamanho;
+	}
+	
 	private int getAltura(No<K, V> no) {
 		
 		if (no != null)
@@ -69,6 +83,8 @@ public class No<K, V> {
 			altura = alturaEsquerda + 1;
 		else
 			altura = alturaDireita + 1;
+		
+		tamanho = getTamanho(esquerda) + getTamanho(direita) + 1;
 	}
 	
 	public int getFatorBalanceamento() {
@@ -0,0 +1,192 @@
+import java.util.Arrays;
+
+/**
+ * Página (nó) de uma árvore B+. As chaves ficam em um vetor ordenado de capacidade fixa; páginas internas guardam
+ * as referências às páginas filhas e páginas folha guardam os itens e a referência para a próxima folha.
+ * A página é formada apenas por vetores de capacidade fixa, alocados uma única vez, sem objetos por entrada.
+ */
+public class NoBMais<K, V> {
+
+	private final boolean folha;     // indica se a página é folha (guarda itens) ou interna (guarda filhos).
+	private int quantidade;          // quantidade de chaves ocupadas no vetor de chaves.
+	private final Object[] chaves;   // chaves ordenadas; uma posição extra permite o excesso temporário antes da divisão.
+	private final Object[] itens;    // itens associados às chaves (apenas em folhas).
+	private final NoBMais<K, V>[] filhos; // páginas filhas (apenas em páginas internas): quantidade + 1 ocupadas.
+	private NoBMais<K, V> proxima;   // próxima folha, na ordem das chaves (apenas em folhas).
+
+	@SuppressWarnings("unchecked")
+	public NoBMais(int ordem, boolean folha) {
+		this.folha = folha;
+		this.quantidade = 0;
+		this.chaves = new Object[ordem];
+		if (folha) {
+			this.itens = new Object[ordem];
+			this.filhos = null;
+		} else {
+			this.itens = null;
+			this.filhos = (NoBMais<K, V>[]) new NoBMais<?, ?>[ordem + 1];
+		}
+		this.proxima = null;
+	}
+
+	public boolean isFolha() {
+		return folha;
+	}
+
+	public int getQuantidade() {
+		return quantidade;
+	}
+
+	public void setQuantidade(int quantidade) {
+		this.quantidade = quantidade;
+	}
+
+	@SuppressWarnings("unchecked")
+	public K getChave(int posicao) {
+		return (K) chaves[posicao];
+	}
+
+	public void setChave(int posicao, K chave) {
+		chaves[posicao] = chave;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V getItem(int posicao) {
+		return (V) itens[posicao];
+	}
+
+	public void setItem(int posicao, V item) {
+		itens[posicao] = item;
+	}
+
+	public NoBMais<K, V> getFilho(int posicao) {
+		return filhos[posicao];
+	}
+
+	public void setFilho(int posicao, NoBMais<K, V> filho) {
+		filhos[posicao] = filho;
+	}
+
+	public NoBMais<K, V> getProxima() {
+		return proxima;
+	}
+
+	public void setProxima(NoBMais<K, V> proxima) {
+		this.proxima = proxima;
+	}
+
+	/**
+	 * Insere uma chave e seu item na posição indicada de uma folha, deslocando as seguintes uma posição à direita.
+	 */
+	public void inserirNaFolha(int posicao, K chave, V item) {
+
+		System.arraycopy(chaves, posicao, chaves, posicao + 1, quantidade - posicao);
+		System.arraycopy(itens, posicao, itens, posicao + 1, quantidade - posicao);
+		chaves[posicao] = chave;
+		itens[posicao] = item;
+		quantidade++;
+	}
+
+	/**
+	 * Insere uma chave na posição indicada de uma página interna, com a página filha que fica à sua direita.
+	 */
+	public void inserirNaInterna(int posicao, K chave, NoBMais<K, V> filhoDireita) {
+
+		System.arraycopy(chaves, posicao, chaves, posicao + 1, quantidade - posicao);
+		System.arraycopy(filhos, posicao + 1, filhos, posicao + 2, quantidade - posicao);
+		chaves[posicao] = chave;
+		filhos[posicao + 1] = filhoDireita;
+		quantidade++;
+	}
+
+	/**
+	 * Insere uma página filha no início de uma página interna, com a chave que a separa da antiga primeira filha.
+	 */
+	public void inserirPrimeiroFilho(K chave, NoBMais<K, V> filho) {
+
+		System.arraycopy(chaves, 0, chaves, 1, quantidade);
+		System.arraycopy(filhos, 0, filhos, 1, quantidade + 1);
+		chaves[0] = chave;
+		filhos[0] = filho;
+		quantidade++;
+	}
+
+	/**
+	 * Remove a chave da posição indicada, deslocando as seguintes uma posição à esquerda.
+	 * Em folhas, o item associado também é removido; em páginas internas, remove-se a página filha à direita da chave.
+	 */
+	public void removerEm(int posicao) {
+
+		System.arraycopy(chaves, posicao + 1, chaves, posicao, quantidade - posicao - 1);
+		chaves[quantidade - 1] = null;
+		if (folha) {
+			System.arraycopy(itens, posicao + 1, itens, posicao, quantidade - posicao - 1);
+			itens[quantidade - 1] = null;
+		} else {
+			System.arraycopy(filhos, posicao + 2, filhos, posicao + 1, quantidade - posicao - 1);
+			filhos[quantidade] = null;
+		}
+		quantidade--;
+	}
+
+	/**
+	 * Remove a primeira página filha de uma página interna, junto com a primeira chave.
+	 */
+	public void removerPrimeiroFilho() {
+
+		System.arraycopy(chaves, 1, chaves, 0, quantidade - 1);
+		System.arraycopy(filhos, 1, filhos, 0, quantidade);
+		chaves[quantidade - 1] = null;
+		filhos[quantidade] = null;
+		quantidade--;
+	}
+
+	/**
+	 * Move para a página {@code destino}, que deve estar vazia, as chaves (e itens ou filhos) desta página
+	 * a partir da posição indicada. Em páginas internas, a chave da posição inicial não é copiada: ela é
+	 * promovida à página pai.
+	 * @return a chave separadora entre esta página e {@code destino}: a primeira chave movida, em folhas, ou a
+	 * chave promovida, em páginas internas.
+	 */
+	public K moverMetadeSuperior(int inicio, NoBMais<K, V> destino) {
+
+		K separadora = getChave(inicio);
+
+		if (folha) {
+			int movidas = quantidade - inicio;
+			System.arraycopy(chaves, inicio, destino.chaves, 0, movidas);
+			System.arraycopy(itens, inicio, destino.itens, 0, movidas);
+			Arrays.fill(chaves, inicio, quantidade, null);
+			Arrays.fill(itens, inicio, quantidade, null);
+			destino.quantidade = movidas;
+		} else {
+			int movidas = quantidade - inicio - 1;
+			System.arraycopy(chaves, inicio + 1, destino.chaves, 0, movidas);
+			System.arraycopy(filhos, inicio + 1, destino.filhos, 0, movidas + 1);
+			Arrays.fill(chaves, inicio, quantidade, null);
+			Arrays.fill(filhos, inicio + 1, quantidade + 1, null);
+			destino.quantidade = movidas;
+		}
+		quantidade = inicio;
+		return separadora;
+	}
+
+	/**
+	 * Acrescenta ao final desta página todo o conteúdo da página {@code origem}, que fica à sua direita.
+	 * Em páginas internas, a chave separadora vinda da página pai é inserida entre os dois conteúdos.
+	 */
+	public void absorver(K separadora, NoBMais<K, V> origem) {
+
+		if (folha) {
+			System.arraycopy(origem.chaves, 0, chaves, quantidade, origem.quantidade);
+			System.arraycopy(origem.itens, 0, itens, quantidade, origem.quantidade);
+			quantidade += origem.quantidade;
+			proxima = origem.proxima;
+		} else {
+			chaves[quantidade] = separadora;
+			System.arraycopy(origem.chaves, 0, chaves, quantidade + 1, origem.quantidade);
+			System.arraycopy(origem.filhos, 0, filhos, quantidade + 1, origem.quantidade + 1);
+			quantidade += origem.quantidade + 1;
+		}
+	}
+}
@@ -54,6 +54,21 @@ public abstract class Produto implements Comparable<Produto>{
 		init(desc, precoCusto, MARGEM_PADRAO);
 	}
 	
+	/**
+     * Construtor para reconstituir um produto já cadastrado, com identificador conhecido. Os dados não são validados
+     * novamente e nenhum novo identificador é consumido.
+     * @param idProduto Identificador do produto cadastrado
+     * @param desc Descrição do produto
+     * @param precoCusto Preço do produto
+     * @param margemLucro Margem de lucro
+     */
+	protected Produto(int idProduto, String desc, double precoCusto, double margemLucro) {
+		this.idProduto = idProduto;
+		this.descricao = desc;
+		this.precoCusto = precoCusto;
+		this.margemLucro = margemLucro;
+	}
+	
 	 /**
      * Retorna o valor de venda do produto, considerando seu preço de custo e margem de lucro.
      * @return Valor de venda do produto (double, positivo)
@@ -21,12 +21,33 @@ public class ProdutoNaoPerecivel extends Produto{
 		super(desc, precoCusto);
 	}
 
+	/**
+     * Construtor para reconstituir um produto já cadastrado, com identificador conhecido. Os dados não são validados novamente.
+     * @param idProduto Identificador do produto cadastrado
+     * @param desc Descrição do produto
+     * @param precoCusto Preço de compra do produto
+     * @param margemLucro Margem de lucro para a venda
+     */
+	ProdutoNaoPerecivel(int idProduto, String desc, double precoCusto, double margemLucro) {
+		super(idProduto, desc, precoCusto, margemLucro);
+	}
+
 	/**
      * Retorna o valor de venda do produto, considerando seu preço de custo e margem de lucro
      * @return Valor de venda do produto (double, positivo)
      */
 	@Override
 	public double valorDeVenda() {
+		return valorDeVenda(precoCusto, margemLucro);
+	}
+
+	/**
+     * Calcula o valor de venda de um produto não perecível a partir de seus dados, com a mesma regra de {@link #valorDeVenda()}.
+     * @param precoCusto Preço de compra do produto
+     * @param margemLucro Margem de lucro para a venda
+     * @return Valor de venda do produto (double, positivo)
+     */
+	static double valorDeVenda(double precoCusto, double margemLucro) {
 		return (precoCusto * (1.0 + margemLucro));
 	}
 
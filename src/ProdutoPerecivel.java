@@ -47,6 +47,25 @@ public class ProdutoPerecivel extends Produto{
 		}
 		dataDeValidade = validade;
 	}
+	
+	/**
+     * Construtor para reconstituir um produto já cadastrado, com identificador conhecido. Os dados não são validados novamente.
+     * @param idProduto Identificador do produto cadastrado
+     * @param desc Descrição do produto
+     * @param precoCusto Preço de compra do produto
+     * @param margemLucro Margem de lucro para a venda
+     * @param validade Data de validade do produto
+     */
+	ProdutoPerecivel(int idProduto, String desc, double precoCusto, double margemLucro, LocalDate validade) {
+		
+		super(idProduto, desc, precoCusto, margemLucro);
+		dataDeValidade = validade;
+	}
+	
+	/** Data de validade do produto. */
+	public LocalDate getDataDeValidade() {
+		return dataDeValidade;
+	}
 
 	/**
      * Retorna o valor de venda do produto, considerando seu preço de custo, margem de lucro e
@@ -55,6 +74,18 @@ public class ProdutoPerecivel extends Produto{
      */
 	@Override
 	public double valorDeVenda() {
+		return valorDeVenda(precoCusto, margemLucro, dataDeValidade);
+	}
+	
+	/**
+     * Calcula o valor de venda de um produto perecível a partir de seus dados, com a mesma regra de {@link #valorDeVenda()}.
+     * Usado também por quem lê os dados sem reconstituir o produto, como {@link VisaoProduto}.
+     * @param precoCusto Preço de compra do produto
+     * @param margemLucro Margem de lucro para a venda
+     * @param dataDeValidade Data de validade do produto
+     * @return Valor de venda do produto (double, positivo)
+     */
+	static double valorDeVenda(double precoCusto, double margemLucro, LocalDate dataDeValidade) {
 		
 		double precoVenda;
 		
@@ -0,0 +1,71 @@
+import java.time.LocalDate;
+
+/**
+ * Visão reaproveitável sobre um registro de {@link ArmazemProdutos}. A visão é reposicionada sobre outro registro
+ * com {@link #apontar(int)} e lê os campos diretamente do armazém, sem criar um {@link Produto}; assim, uma única
+ * visão atende a uma sequência de pesquisas sem gerar lixo. Não é segura para uso por várias threads ao mesmo tempo.
+ */
+public class VisaoProduto {
+
+	private final ArmazemProdutos armazem;
+	private int registro;
+
+	/**
+	 * Construtor da classe. A visão começa posicionada no registro 0.
+	 * @param armazem o armazém cujos registros serão lidos.
+	 */
+	public VisaoProduto(ArmazemProdutos armazem) {
+		this.armazem = armazem;
+		this.registro = 0;
+	}
+
+	/**
+	 * Reposiciona a visão sobre o registro indicado.
+	 * @param registro o número do registro, obtido em {@link ArmazemProdutos#adicionar}.
+	 * @return esta mesma visão, para encadear a leitura.
+	 */
+	public VisaoProduto apontar(int registro) {
+		this.registro = registro;
+		return this;
+	}
+
+	public int getRegistro() {
+		return registro;
+	}
+
+	public int getId() {
+		return armazem.getId(registro);
+	}
+
+	public boolean isPerecivel() {
+		return armazem.getTipo(registro) == ArmazemProdutos.TIPO_PERECIVEL;
+	}
+
+	public double getPrecoCusto() {
+		return armazem.getPrecoCusto(registro);
+	}
+
+	public double getMargemLucro() {
+		return armazem.getMargemLucro(registro);
+	}
+
+	/** Data de validade do produto, ou {@code null} para produtos não perecíveis. */
+	public LocalDate getDataDeValidade() {
+		return isPerecivel() ? LocalDate.ofEpochDay(armazem.getValidadeEmDias(registro)) : null;
+	}
+
+	/** Descrição do produto. É decodificada a cada chamada, em uma nova String. */
+	public String getDescricao() {
+		return armazem.getDescricao(registro);
+	}
+
+	/** Valor de venda do produto, calculado diretamente do registro. */
+	public double valorDeVenda() {
+		return armazem.valorDeVenda(registro);
+	}
+
+	/** Reconstitui o produto do registro atual, como {@link ArmazemProdutos#produto(int)}. */
+	public Produto produto() {
+		return armazem.produto(registro);
+	}
+}